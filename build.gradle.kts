@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.8"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "net.zeotrope"
@@ -25,18 +26,44 @@ repositories {
 }
 
 extra["flywayDbVersion"] = "11.12.0"
+extra["hdrHistogramVersion"] = "2.2.2"
+extra["jmhVersion"] = "1.37"
 extra["postgresqlJdbcDriverVersion"] = "42.7.8"
 extra["redisTestContainersVersion"] = "2.2.4"
 extra["springBootVersion"] = "3.5.8"
 extra["testContainersVersion"] = "1.21.3"
 
+// End-to-end load tests in src/loadTest, run against the application (see the loadTest task below)
+val loadTest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations {
+    named("loadTestImplementation") {
+        extendsFrom(configurations.implementation.get())
+    }
+    named("loadTestRuntimeOnly") {
+        extendsFrom(configurations.runtimeOnly.get())
+    }
+}
+
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-actuator:${property("springBootVersion")}")
+    // metrics scraped from /prometheus
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+    // tracing: observations bridged to OpenTelemetry, spans exported to a local file (no collector needed)
+    implementation("io.micrometer:micrometer-tracing-bridge-otel")
+    implementation("io.opentelemetry:opentelemetry-sdk-trace")
+    implementation("io.micrometer:context-propagation")
+    // @Observed service methods
+    implementation("org.springframework.boot:spring-boot-starter-aop:${property("springBootVersion")}")
 
     implementation("org.springframework.boot:spring-boot-starter-data-jpa:${property("springBootVersion")}")
     implementation("org.springframework.boot:spring-boot-starter-data-redis:${property("springBootVersion")}")
     implementation("org.springframework.boot:spring-boot-starter-web:${property("springBootVersion")}")
     implementation("org.springframework.boot:spring-boot-starter-cache:${property("springBootVersion")}")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     compileOnly("org.projectlombok:lombok")
     runtimeOnly("org.postgresql:postgresql")
     annotationProcessor("org.projectlombok:lombok")
@@ -57,8 +84,8 @@ dependencies {
     // Flyway database migration
     implementation("org.flywaydb:flyway-core:${property("flywayDbVersion")}")
     runtimeOnly("org.flywaydb:flyway-database-postgresql:${property("flywayDbVersion")}")
-    // Needs to be available at compile time for PGobject usage in code
-    runtimeOnly("org.postgresql:postgresql:${property("postgresqlJdbcDriverVersion")}")
+    // Needs to be available at compile time for PGConnection (LISTEN/NOTIFY) usage in code
+    implementation("org.postgresql:postgresql:${property("postgresqlJdbcDriverVersion")}")
 
     // Required for Netty DNS resolution on macOS to prevent R2DBC hangs
     runtimeOnly("io.netty:netty-resolver-dns-native-macos::osx-aarch_64")
@@ -72,8 +99,42 @@ dependencies {
     testImplementation("com.redis:testcontainers-redis:${property("redisTestContainersVersion")}")
 
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    // load tests: latency histograms, and containers for a self-contained run
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:${property("hdrHistogramVersion")}")
+    "loadTestImplementation"("org.testcontainers:postgresql:${property("testContainersVersion")}")
+    "loadTestImplementation"("com.redis:testcontainers-redis:${property("redisTestContainersVersion")}")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// Open-loop load test of the REST endpoints, e.g. ./gradlew loadTest -Ploadtest.rate=1000 -Ploadtest.duration=2m
+// Without -Ploadtest.target the application is started in-process against postgres and redis containers;
+// the JSON report is written to build/reports/loadtest/report.json
+tasks.register<JavaExec>("loadTest") {
+    description = "Runs the end-to-end load test and writes a latency report."
+    group = "verification"
+    classpath = loadTest.runtimeClasspath
+    mainClass = "net.zeotrope.item.loadtest.ItemLoadTest"
+    systemProperty("loadtest.report", layout.buildDirectory.file("reports/loadtest/report.json").get().asFile.path)
+    systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") })
+}
+
+// Microbenchmarks of the item hot path in src/jmh, run with ./gradlew jmh
+// (-PjmhIncludes=<regex> to run a subset); results land in build/results/jmh/results.json
+jmh {
+    jmhVersion = property("jmhVersion").toString()
+    includes = providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(listOf())
+    benchmarkMode = listOf("thrpt")
+    timeUnit = "us"
+    fork = 1
+    warmupIterations = 3
+    warmup = "2s"
+    iterations = 5
+    timeOnIteration = "2s"
+    // allocation rate per operation next to throughput
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+}
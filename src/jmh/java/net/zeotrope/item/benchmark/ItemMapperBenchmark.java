@@ -0,0 +1,44 @@
+package net.zeotrope.item.benchmark;
+
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.mapper.ItemMapper;
+import net.zeotrope.item.model.ItemDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity construction on the create and update paths, each call also reads the clock.
+ */
+@State(Scope.Benchmark)
+public class ItemMapperBenchmark {
+
+    private final ItemDto itemDto = new ItemDto("Title", ItemStatus.DISCONTINUED, "Summary of the item");
+    private final Item item = new Item(
+            1234567890L,
+            ItemStatus.CURRENT,
+            "Title",
+            "Summary of the item",
+            LocalDateTime.of(2025, 1, 1, 0, 0, 0),
+            LocalDateTime.of(2025, 1, 1, 0, 0, 0),
+            null
+    );
+
+    @Benchmark
+    public Item toNewItem() {
+        return ItemMapper.toNewItem(itemDto);
+    }
+
+    @Benchmark
+    public Item toUpdateItem() {
+        return ItemMapper.toUpdateItem(itemDto, item);
+    }
+
+    @Benchmark
+    public Item toUpdateItemStatus() {
+        return ItemMapper.toUpdateItemStatus(item, ItemStatus.DISCONTINUED);
+    }
+}
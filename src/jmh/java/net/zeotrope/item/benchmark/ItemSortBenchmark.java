@@ -0,0 +1,54 @@
+package net.zeotrope.item.benchmark;
+
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sorting item lists by status then creation time, as listings are ordered.
+ */
+@State(Scope.Benchmark)
+public class ItemSortBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        // fixed seed so every run sorts the same shuffled input
+        var random = new SplittableRandom(42);
+        var statuses = ItemStatus.values();
+        var base = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            var createdAt = base.plusSeconds(random.nextInt(31_536_000));
+            items.add(new Item(
+                    (long) i,
+                    statuses[random.nextInt(statuses.length)],
+                    "Title " + i,
+                    "Summary " + i,
+                    createdAt,
+                    createdAt,
+                    null
+            ));
+        }
+    }
+
+    @Benchmark
+    public List<Item> statusCreatedSort() {
+        var copy = new ArrayList<>(items);
+        copy.sort(Item.statusCreatedSort);
+        return copy;
+    }
+}
@@ -0,0 +1,28 @@
+package net.zeotrope.item.benchmark;
+
+import net.zeotrope.item.common.StringToItemStatusConverter;
+import net.zeotrope.item.domain.ItemStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Request parameter conversion of status filters, in the lower case clients send and in canonical case.
+ */
+@State(Scope.Benchmark)
+public class StringToItemStatusConverterBenchmark {
+
+    private final StringToItemStatusConverter converter = new StringToItemStatusConverter();
+    private final String lowerCase = "discontinued";
+    private final String upperCase = "CURRENT";
+
+    @Benchmark
+    public ItemStatus convertLowerCase() {
+        return converter.convert(lowerCase);
+    }
+
+    @Benchmark
+    public ItemStatus convertUpperCase() {
+        return converter.convert(upperCase);
+    }
+}
@@ -0,0 +1,74 @@
+package net.zeotrope.item.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one operation. Latency runs from the time a request was due to be sent, not from when it
+ * was sent, so a stalled service shows up in the percentiles instead of slowing the load down.
+ */
+public class EndpointStats {
+    // one hour at microsecond resolution, three significant digits
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram histogram = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    public void recordResponse(int status, long latencyNanos) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+        if (status < 400) {
+            succeeded.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    public void recordFailure(long latencyNanos) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        failed.increment();
+    }
+
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    public synchronized Map<String, Object> summary(double seconds) {
+        histogram.add(recorder.getIntervalHistogram());
+        var total = succeeded.sum() + failed.sum();
+        var summary = new LinkedHashMap<String, Object>();
+        summary.put("requests", total);
+        summary.put("succeeded", succeeded.sum());
+        summary.put("failed", failed.sum());
+        summary.put("dropped", dropped.sum());
+        summary.put("throughput", seconds > 0 ? total / seconds : 0.0);
+        var latency = new LinkedHashMap<String, Object>();
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p99.9", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+        latency.put("mean", millis(histogram.getMean()));
+        summary.put("latencyMillis", latency);
+        var codes = new LinkedHashMap<String, Long>();
+        statuses.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> codes.put(Integer.toString(entry.getKey()), entry.getValue().sum()));
+        summary.put("statusCodes", codes);
+        return summary;
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+}
@@ -0,0 +1,270 @@
+package net.zeotrope.item.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.model.ItemDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Open-loop load test of the item endpoints.
+ * <p>
+ * Requests are issued on a fixed schedule at the configured rate whatever the response times, each on its own virtual
+ * thread, with ids drawn from a Zipfian distribution over a seeded item population. Latencies are recorded per
+ * operation into HdrHistograms and written out as a JSON report meant to be compared between builds.
+ */
+public class ItemLoadTest {
+    public static final Logger LOGGER = LoggerFactory.getLogger(ItemLoadTest.class);
+
+    private static final String ITEMS_PATH = "/api/v1/items";
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int BATCH_READ_SIZE = 20;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    public ItemLoadTest(LoadTestSettings settings, URI baseUri) {
+        this.settings = settings;
+        this.baseUri = baseUri;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.operations = settings.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        var total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    private final LoadTestSettings settings;
+    private final URI baseUri;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    static void main(String[] args) throws Exception {
+        var settings = LoadTestSettings.fromSystemProperties();
+        try (var target = LoadTestTarget.start(settings)) {
+            LOGGER.info("Load testing {}", target.description());
+            var report = new ItemLoadTest(settings, target.baseUri()).run(target.description());
+            var reportPath = Path.of(settings.report());
+            Files.createDirectories(reportPath.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+            LOGGER.info("Report written to {}", reportPath.toAbsolutePath());
+        }
+    }
+
+    public Map<String, Object> run(String targetDescription) throws Exception {
+        var ids = seed();
+        // popularity rank -> id, shuffled so the hot ids are not neighbours in the table or the id filter
+        Collections.shuffle(ids, new Random(42));
+        var zipf = new ZipfianGenerator(ids.size(), settings.zipfExponent());
+        var random = new SplittableRandom(7);
+
+        var stats = new EnumMap<Operation, EndpointStats>(Operation.class);
+        for (var operation : operations) {
+            stats.put(operation, new EndpointStats());
+        }
+        var overall = new EndpointStats();
+        var inFlight = new Semaphore(settings.maxInFlight());
+        var intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(settings.rate(), 1);
+        var startedAt = Instant.now();
+        var start = System.nanoTime();
+        var measureFrom = start + settings.warmup().toNanos();
+        var end = measureFrom + settings.duration().toNanos();
+        LOGGER.info("Issuing {} requests/s for {} s after a {} s warmup",
+                settings.rate(), settings.duration().toSeconds(), settings.warmup().toSeconds());
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                // requests are due on a fixed schedule, latency counts from when a request was due
+                var due = start + i * intervalNanos;
+                if (due >= end) {
+                    break;
+                }
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                var operation = nextOperation(random);
+                var request = request(operation, ids, zipf, random);
+                var measured = due >= measureFrom;
+                var operationStats = stats.get(operation);
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        operationStats.recordDropped();
+                        overall.recordDropped();
+                    }
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (measured) {
+                            var latency = System.nanoTime() - due;
+                            operationStats.recordResponse(response.statusCode(), latency);
+                            overall.recordResponse(response.statusCode(), latency);
+                        }
+                    } catch (IOException e) {
+                        if (measured) {
+                            var latency = System.nanoTime() - due;
+                            operationStats.recordFailure(latency);
+                            overall.recordFailure(latency);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            // closing the executor waits for the requests still in flight
+        }
+
+        var seconds = settings.duration().toNanos() / 1e9;
+        var endpoints = new LinkedHashMap<String, Object>();
+        stats.forEach((operation, operationStats) -> endpoints.put(operation.key(), operationStats.summary(seconds)));
+        var report = new LinkedHashMap<String, Object>();
+        report.put("startedAt", startedAt.toString());
+        report.put("target", targetDescription);
+        report.put("settings", settingsSummary());
+        report.put("overall", overall.summary(seconds));
+        report.put("endpoints", endpoints);
+        printSummary(endpoints);
+        return report;
+    }
+
+    // the id population reads and writes are drawn from, created through the bulk endpoint
+    private List<Long> seed() throws IOException, InterruptedException {
+        var statuses = ItemStatus.values();
+        var ids = new ArrayList<Long>(settings.items());
+        for (int created = 0; created < settings.items(); created += SEED_BATCH_SIZE) {
+            var batch = new ArrayList<ItemDto>();
+            for (int i = created; i < Math.min(created + SEED_BATCH_SIZE, settings.items()); i++) {
+                batch.add(new ItemDto("Load test item " + i, statuses[i % statuses.length], "Seeded by the load test"));
+            }
+            var request = HttpRequest.newBuilder(baseUri.resolve(ITEMS_PATH + "/bulk"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(batch)))
+                    .build();
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException(String.format("Seeding items failed with status %d", response.statusCode()));
+            }
+            objectMapper.readTree(response.body()).forEach(item -> ids.add(item.get("id").asLong()));
+        }
+        LOGGER.info("Seeded {} items", ids.size());
+        return ids;
+    }
+
+    private Operation nextOperation(SplittableRandom random) {
+        var draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private HttpRequest request(Operation operation, List<Long> ids, ZipfianGenerator zipf, SplittableRandom random)
+            throws IOException {
+        var status = ItemStatus.values()[random.nextInt(ItemStatus.values().length)];
+        return switch (operation) {
+            case GET_ITEM -> get(ITEMS_PATH + "/" + ids.get(zipf.next(random)));
+            case GET_PAGE -> get(ITEMS_PATH + "?limit=100&status=" + status.name().toLowerCase());
+            case GET_ITEMS -> get(ITEMS_PATH + "?ids=" + IntStream.range(0, BATCH_READ_SIZE)
+                    .mapToObj(n -> String.valueOf(ids.get(zipf.next(random))))
+                    .collect(Collectors.joining(",")));
+            case GET_CHANGES -> get(ITEMS_PATH + "/changes?limit=100");
+            case UPDATE_ITEM -> HttpRequest.newBuilder(baseUri.resolve(ITEMS_PATH + "/" + ids.get(zipf.next(random))))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(
+                            new ItemDto("Updated load test item", status, "Updated by the load test"))))
+                    .build();
+            case UPDATE_STATUS -> HttpRequest.newBuilder(
+                            baseUri.resolve(ITEMS_PATH + "/" + ids.get(zipf.next(random)) + "?status=" + status.name()))
+                    .timeout(REQUEST_TIMEOUT)
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case CREATE_ITEM -> HttpRequest.newBuilder(baseUri.resolve(ITEMS_PATH))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(
+                            new ItemDto("Created load test item", status, "Created by the load test"))))
+                    .build();
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private Map<String, Object> settingsSummary() {
+        var summary = new LinkedHashMap<String, Object>();
+        summary.put("rate", settings.rate());
+        summary.put("warmupSeconds", settings.warmup().toSeconds());
+        summary.put("durationSeconds", settings.duration().toSeconds());
+        summary.put("items", settings.items());
+        summary.put("zipfExponent", settings.zipfExponent());
+        summary.put("maxInFlight", settings.maxInFlight());
+        var mix = new LinkedHashMap<String, Integer>();
+        settings.mix().forEach((operation, weight) -> mix.put(operation.key(), weight));
+        summary.put("mix", mix);
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> endpoints) {
+        var lines = new StringBuilder(String.format("%n%-14s %10s %10s %10s %10s %10s %8s %8s%n",
+                "operation", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "failed", "dropped"));
+        endpoints.forEach((name, value) -> {
+            var summary = (Map<String, Object>) value;
+            var latency = (Map<String, Object>) summary.get("latencyMillis");
+            lines.append(String.format("%-14s %10d %10.1f %10.2f %10.2f %10.2f %8d %8d%n",
+                    name,
+                    (Long) summary.get("requests"),
+                    (Double) summary.get("throughput"),
+                    (Double) latency.get("p50"),
+                    (Double) latency.get("p99"),
+                    (Double) latency.get("p99.9"),
+                    (Long) summary.get("failed"),
+                    (Long) summary.get("dropped")));
+        });
+        LOGGER.info(lines.toString());
+    }
+}
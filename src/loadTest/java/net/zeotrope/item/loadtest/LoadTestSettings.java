@@ -0,0 +1,66 @@
+package net.zeotrope.item.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test parameters, read from {@code loadtest.*} system properties.
+ *
+ * @param target        base url of a running service, empty to start one in-process against containers
+ * @param rate          requests issued per second, independent of how fast responses come back
+ * @param warmup        time before recording starts, caches and the JIT settle in it
+ * @param duration      recorded time
+ * @param items         items created before the run, the population read and write ids are drawn from
+ * @param zipfExponent  skew of id popularity, 0 is uniform and around 1 a typical hot set
+ * @param maxInFlight   outstanding requests past which new ones are counted as dropped instead of sent
+ * @param mix           relative weight of each operation
+ * @param report        path of the JSON report
+ */
+public record LoadTestSettings(
+        String target,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int items,
+        double zipfExponent,
+        int maxInFlight,
+        Map<Operation, Integer> mix,
+        String report
+) {
+    private static final String PREFIX = "loadtest.";
+
+    public static LoadTestSettings fromSystemProperties() {
+        var mix = new EnumMap<Operation, Integer>(Operation.class);
+        for (var operation : Operation.values()) {
+            var weight = Integer.parseInt(property("mix." + operation.key(), Integer.toString(operation.defaultWeight())));
+            if (weight > 0) {
+                mix.put(operation, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("At least one operation needs a positive weight");
+        }
+        return new LoadTestSettings(
+                property("target", ""),
+                Integer.parseInt(property("rate", "500")),
+                DurationStyle.detectAndParse(property("warmup", "15s")),
+                DurationStyle.detectAndParse(property("duration", "60s")),
+                Integer.parseInt(property("items", "10000")),
+                Double.parseDouble(property("zipf-exponent", "1.0")),
+                Integer.parseInt(property("max-in-flight", "2000")),
+                mix,
+                property("report", "build/reports/loadtest/report.json")
+        );
+    }
+
+    public boolean isInProcess() {
+        return target.isBlank();
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+}
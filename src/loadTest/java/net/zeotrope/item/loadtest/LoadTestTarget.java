@@ -0,0 +1,82 @@
+package net.zeotrope.item.loadtest;
+
+import com.redis.testcontainers.RedisContainer;
+import net.zeotrope.item.ItemServiceApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.net.URI;
+
+/**
+ * The service under load: a running instance given by url, or the application started in this JVM against
+ * throwaway postgres and redis containers of the same images compose uses.
+ */
+public final class LoadTestTarget implements AutoCloseable {
+
+    private LoadTestTarget(
+            URI baseUri,
+            ConfigurableApplicationContext context,
+            PostgreSQLContainer<?> postgres,
+            RedisContainer redis) {
+        this.baseUri = baseUri;
+        this.context = context;
+        this.postgres = postgres;
+        this.redis = redis;
+    }
+
+    private final URI baseUri;
+    private final ConfigurableApplicationContext context;
+    private final PostgreSQLContainer<?> postgres;
+    private final RedisContainer redis;
+
+    public static LoadTestTarget start(LoadTestSettings settings) {
+        if (!settings.isInProcess()) {
+            return new LoadTestTarget(URI.create(settings.target()), null, null, null);
+        }
+        var postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17.6"))
+                .withDatabaseName("itemsjdb")
+                .withUsername("loadtest")
+                .withPassword("loadtest");
+        var redis = new RedisContainer(DockerImageName.parse("redis:8.2.3-alpine"));
+        postgres.start();
+        redis.start();
+        var context = new SpringApplication(ItemServiceApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl() + "?reWriteBatchedInserts=true",
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.data.redis.host=" + redis.getHost(),
+                "--spring.data.redis.port=" + redis.getFirstMappedPort(),
+                // trace logging of every cache and repository call would be what gets measured
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.cache=WARN",
+                "--logging.level.org.springframework.data.redis=WARN",
+                "--logging.level.org.springframework.jpa=WARN"
+        );
+        var port = context.getEnvironment().getProperty("local.server.port");
+        return new LoadTestTarget(URI.create("http://localhost:" + port), context, postgres, redis);
+    }
+
+    public URI baseUri() {
+        return baseUri;
+    }
+
+    public String description() {
+        return context != null ? "in-process application with postgres and redis containers" : baseUri.toString();
+    }
+
+    @Override
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+        if (redis != null) {
+            redis.stop();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package net.zeotrope.item.loadtest;
+
+/**
+ * The requests of the load mix, with default weights modelled on a read heavy catalogue: mostly single item reads,
+ * some listings and batch reads, a few percent writes.
+ */
+public enum Operation {
+    GET_ITEM("get-item", 70),
+    GET_PAGE("get-page", 8),
+    GET_ITEMS("get-items", 6),
+    GET_CHANGES("get-changes", 2),
+    UPDATE_ITEM("update-item", 6),
+    UPDATE_STATUS("update-status", 6),
+    CREATE_ITEM("create-item", 2);
+
+    Operation(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    private final String key;
+    private final int defaultWeight;
+
+    public String key() {
+        return key;
+    }
+
+    public int defaultWeight() {
+        return defaultWeight;
+    }
+}
@@ -0,0 +1,34 @@
+package net.zeotrope.item.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent from a precomputed cumulative
+ * distribution, so a few ranks take most of the draws as a few items take most of the traffic.
+ */
+public class ZipfianGenerator {
+
+    public ZipfianGenerator(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException(String.format("Population must be positive: %d", n));
+        }
+        this.cumulative = new double[n];
+        var sum = 0.0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    private final double[] cumulative;
+
+    public int next(SplittableRandom random) {
+        var index = Arrays.binarySearch(cumulative, random.nextDouble());
+        var rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
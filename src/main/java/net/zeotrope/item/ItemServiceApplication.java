@@ -3,9 +3,11 @@ package net.zeotrope.item;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
 public class ItemServiceApplication {
     static void main(String[] args) {
         SpringApplication.run(ItemServiceApplication.class, args);
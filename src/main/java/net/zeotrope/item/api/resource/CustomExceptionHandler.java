@@ -3,6 +3,8 @@ package net.zeotrope.item.api.resource;
 import jakarta.servlet.http.HttpServletRequest;
 import net.zeotrope.item.api.respose.ErrorResponse;
 import net.zeotrope.item.api.respose.GenericErrorResponse;
+import net.zeotrope.item.exceptions.ChangeCursorExpiredException;
+import net.zeotrope.item.exceptions.InvalidRequestException;
 import net.zeotrope.item.exceptions.InvalidStatusException;
 import net.zeotrope.item.exceptions.ItemNotFoundException;
 import org.slf4j.Logger;
@@ -79,6 +81,28 @@ public class CustomExceptionHandler  {
                         String.format("Item request is invalid: %s?%s", request.getRequestURI(), request.getQueryString())
                 ), HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequestException(InvalidRequestException exception, HttpServletRequest request) {
+        return new ResponseEntity<>(
+                new GenericErrorResponse(
+                        Instant.now(),
+                        HttpStatus.BAD_REQUEST.value(),
+                        HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                        String.format("Item request is invalid: %s", exception.getMessage())
+                ), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ChangeCursorExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleChangeCursorExpiredException(ChangeCursorExpiredException exception, HttpServletRequest request) {
+        return new ResponseEntity<>(
+                new GenericErrorResponse(
+                        Instant.now(),
+                        HttpStatus.GONE.value(),
+                        HttpStatus.GONE.getReasonPhrase(),
+                        String.format("Item request is invalid: %s", exception.getMessage())
+                ), HttpStatus.GONE);
+    }
 }
 
 @ControllerAdvice
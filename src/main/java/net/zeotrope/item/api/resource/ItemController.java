@@ -1,15 +1,39 @@
 package net.zeotrope.item.api.resource;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import net.zeotrope.item.domain.Item;
 import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.exceptions.ItemNotFoundException;
+import net.zeotrope.item.model.ItemChanges;
 import net.zeotrope.item.model.ItemDto;
+import net.zeotrope.item.model.ItemVersion;
+import net.zeotrope.item.model.ItemStatusUpdateDto;
+import net.zeotrope.item.service.ItemBulkService;
+import net.zeotrope.item.service.ItemChangeFeed;
+import net.zeotrope.item.service.ItemChangeService;
+import net.zeotrope.item.service.ItemExistenceService;
+import net.zeotrope.item.service.ItemJsonService;
 import net.zeotrope.item.service.ItemService;
+import net.zeotrope.item.service.ItemVersionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -18,43 +42,173 @@ import java.util.List;
         produces = "application/json"
 )
 public class ItemController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String LIST_ETAG_PREFIX = "items-";
+    private static final int EXPORT_FLUSH_INTERVAL = 100;
 
-    public ItemController(ItemService itemService) {
+    public ItemController(
+            ItemService itemService,
+            ItemBulkService itemBulkService,
+            ItemJsonService itemJsonService,
+            ItemVersionService itemVersionService,
+            ItemExistenceService itemExistenceService,
+            ItemChangeService itemChangeService,
+            ItemChangeFeed itemChangeFeed,
+            ObjectMapper objectMapper,
+            @Value("${item.response.raw-json:false}") boolean rawJsonResponses) {
         this.itemService = itemService;
+        this.itemBulkService = itemBulkService;
+        this.itemJsonService = itemJsonService;
+        this.itemVersionService = itemVersionService;
+        this.itemExistenceService = itemExistenceService;
+        this.itemChangeService = itemChangeService;
+        this.itemChangeFeed = itemChangeFeed;
+        this.objectMapper = objectMapper;
+        this.rawJsonResponses = rawJsonResponses;
     }
 
     private final ItemService itemService;
+    private final ItemBulkService itemBulkService;
+    private final ItemJsonService itemJsonService;
+    private final ItemVersionService itemVersionService;
+    private final ItemExistenceService itemExistenceService;
+    private final ItemChangeService itemChangeService;
+    private final ItemChangeFeed itemChangeFeed;
+    private final ObjectMapper objectMapper;
+    private final boolean rawJsonResponses;
 
     @GetMapping("/items")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<List<Item>> getAllItems(@RequestParam(required = false, name = "status") ItemStatus status) {
-        var timestamp = LocalDateTime.now();
-        var item = new Item(
-                100L,
-                ItemStatus.CURRENT,
-                "Item 100",
-                "Item 100 Summary",
-                timestamp,
-                timestamp,
-                null
-        );
-        return ResponseEntity.ok(itemService.getAllItems(status));
+    public ResponseEntity<List<Item>> getAllItems(
+            @RequestParam(required = false, name = "status") ItemStatus status,
+            @RequestParam(required = false, name = "cursor") String cursor,
+            @RequestParam(required = false, name = "limit") Integer limit,
+            WebRequest request) {
+        // every write bumps the list version, a page is unchanged while it is; read first so the tag never runs ahead
+        var listVersion = itemService.getListVersion();
+        if (listVersion >= 0 && request.checkNotModified(LIST_ETAG_PREFIX + listVersion)) {
+            return null;
+        }
+        var page = itemService.getItemPage(status, cursor, limit);
+        var response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    @GetMapping(
+            value = "/items",
+            params = "ids"
+    )
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<Item>> getItems(@RequestParam(name = "ids") List<Long> ids) {
+        return ResponseEntity.ok(itemService.getItems(ids));
+    }
+
+    // delta sync: pass the returned cursor back as since, omit it (or give an ISO-8601 timestamp) to start
+    @GetMapping("/items/changes")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<ItemChanges> getItemChanges(
+            @RequestParam(required = false, name = "since") String since,
+            @RequestParam(required = false, name = "limit") Integer limit) {
+        return ResponseEntity.ok(itemChangeService.getChanges(since, limit));
+    }
+
+    // pushes committed changes as they happen, a client told of an overflow catches up through /items/changes
+    @GetMapping(value = "/items/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamItemChanges() {
+        var emitter = itemChangeFeed.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(emitter);
+    }
+
+    @GetMapping(value = "/items/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<StreamingResponseBody> exportItems() {
+        var itemWriter = objectMapper.writerFor(Item.class);
+        StreamingResponseBody body = outputStream -> {
+            var written = new long[]{0};
+            itemService.exportItems(item -> {
+                try {
+                    outputStream.write(itemWriter.writeValueAsBytes(item));
+                    outputStream.write('\n');
+                    // flush the first row straight away, then periodically
+                    if (written[0]++ % EXPORT_FLUSH_INTERVAL == 0) {
+                        outputStream.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/items/{id}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Item> getItem(@PathVariable Long id) {
-        var timestamp = LocalDateTime.now();
-        var item = new Item(
-                id,
-                ItemStatus.CURRENT,
-                "Item 100",
-                "Item 100 Summary",
-                timestamp,
-                timestamp,
-                null
-        );
-        return ResponseEntity.ok(itemService.get(id));
+    public ResponseEntity<?> getItem(@PathVariable Long id, WebRequest request) {
+        // ids the id filter rules out are answered before any cache or database lookup
+        if (!itemExistenceService.mightExist(id)) {
+            throw new ItemNotFoundException(String.format("Item with id %d not found", id));
+        }
+        // a 304 is answered from the cached modification time, the item itself is only loaded for a full response
+        if (isConditional(request)) {
+            var version = itemVersion(id);
+            if (version != null && isNotModified(request, version)) {
+                return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+            }
+        }
+        if (rawJsonResponses) {
+            // cached response bytes are written as they are, with the validators cached alongside them
+            var json = itemJsonService.getItemJson(id);
+            return withValidators(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON), json.version())
+                    .body(json.body());
+        }
+        var item = itemService.get(id);
+        return withValidators(ResponseEntity.ok(), ItemVersion.of(item)).body(item);
+    }
+
+    // the cached version and the body come from different caches: it may only ever answer a 304, a full response
+    // carries the validators of the item it serves
+    @Nullable
+    private ItemVersion itemVersion(Long id) {
+        try {
+            return ItemVersion.ofEpochMicros(id, itemVersionService.getEpochMicros(id));
+        } catch (DataAccessException | TransactionException e) {
+            // without validators the request is answered in full, possibly from a stale cached value
+            return null;
+        }
+    }
+
+    // only a request carrying validators can be answered with a 304, any other skips the version lookup
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // evaluated against the request alone, so a failed check leaves no validators of the cached version behind
+    private static boolean isNotModified(WebRequest request, ItemVersion version) {
+        var servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        return servletRequest != null
+                && new ServletWebRequest(servletRequest).checkNotModified(version.eTag(), version.lastModifiedMillis());
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder response, ItemVersion version) {
+        response.eTag(version.eTag());
+        if (version.lastModifiedMillis() >= 0) {
+            response.lastModified(version.lastModifiedMillis());
+        }
+        return response;
     }
 
     @PostMapping("/items")
@@ -63,6 +217,12 @@ public class ItemController {
         return ResponseEntity.status(HttpStatus.CREATED).body(itemService.createItem(item));
     }
 
+    @PostMapping("/items/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResponseEntity<List<Item>> createItems(@RequestBody List<ItemDto> items) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(itemBulkService.createItems(items));
+    }
+
     @PutMapping("/items/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public ResponseEntity<Item> updateItem(@PathVariable Long id, @NonNull @RequestBody ItemDto item) {
@@ -80,6 +240,12 @@ public class ItemController {
         return ResponseEntity.noContent().build();
     }
 
+    @PutMapping("/items/status")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<Item>> updateItemsStatus(@RequestBody ItemStatusUpdateDto statusUpdate) {
+        return ResponseEntity.ok(itemBulkService.updateItemStatus(statusUpdate.ids(), statusUpdate.status()));
+    }
+
     @DeleteMapping("/items/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public ResponseEntity<Void> deleteItem(@PathVariable Long id) {
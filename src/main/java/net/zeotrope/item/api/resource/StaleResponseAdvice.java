@@ -0,0 +1,40 @@
+package net.zeotrope.item.api.resource;
+
+import net.zeotrope.item.cache.StaleReads;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Flags responses built from a cached value served past its expiry while the database was slow or unavailable.
+ */
+@ControllerAdvice
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+    public static final String STALE_HEADER = "X-Cache-Stale";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (StaleReads.consume()) {
+            response.getHeaders().set(STALE_HEADER, "true");
+            // validators sent with a stale body must not be revalidated against later, so it is never stored
+            response.getHeaders().setCacheControl(CacheControl.noStore());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,270 @@
+package net.zeotrope.item.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-key reads and writes against a two tier cache: near cache first, then a single MGET
+ * or a single pipeline against redis, using the cache's own key prefix, value serializer and ttl.
+ */
+public class BatchCacheOperations {
+
+    public BatchCacheOperations(
+            TwoTierCacheManager cacheManager,
+            RedisConnectionFactory connectionFactory,
+            CircuitBreakingRedisCacheWriter cacheWriter) {
+        this.cacheManager = cacheManager;
+        this.connectionFactory = connectionFactory;
+        this.cacheWriter = cacheWriter;
+    }
+
+    private final TwoTierCacheManager cacheManager;
+    private final RedisConnectionFactory connectionFactory;
+    // shares the circuit breaker of the cache writer, batch calls trip and skip it like single key calls
+    private final CircuitBreakingRedisCacheWriter cacheWriter;
+
+    public <K, V> Map<K, V> getAll(String cacheName, Collection<K> keys, Class<V> type) {
+        var cache = twoTierCache(cacheName);
+        var observation = cache.startLookupObservation().lowCardinalityKeyValue("result", "batch");
+        try {
+            return lookupAll(cache, keys, type);
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> Map<K, V> lookupAll(TwoTierCache cache, Collection<K> keys, Class<V> type) {
+        var cacheName = cache.getName();
+        var found = new HashMap<K, V>();
+        var remoteKeys = new ArrayList<K>();
+        for (var key : keys) {
+            var value = cache.getLocal(TwoTierCache.localKey(key));
+            if (type.isInstance(value)) {
+                found.put(key, (V) value);
+            } else {
+                remoteKeys.add(key);
+            }
+        }
+        cache.getStatistics().recordHits(found.size(), true);
+        if (remoteKeys.isEmpty()) {
+            return found;
+        }
+
+        var config = redisConfiguration(cache);
+        var rawKeys = remoteKeys.stream()
+                .map(key -> rawKey(config, cacheName, key))
+                .toArray(byte[][]::new);
+        var generations = remoteKeys.stream()
+                .mapToLong(key -> cache.localGeneration(TwoTierCache.localKey(key)))
+                .toArray();
+        List<byte[]> rawValues = cacheWriter.getCircuitBreaker().call(
+                () -> CacheOperationRecorder.record(cacheName, "getAll", rawKeys.length, () -> {
+                    try (var connection = connectionFactory.getConnection()) {
+                        return connection.stringCommands().mGet(rawKeys);
+                    }
+                }),
+                () -> null
+        );
+        if (rawValues == null) {
+            cache.getStatistics().recordMisses(remoteKeys.size());
+            return found;
+        }
+        var remoteHits = 0;
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            var rawValue = rawValues.get(i);
+            if (rawValue == null) {
+                continue;
+            }
+            var value = config.getValueSerializationPair().read(ByteBuffer.wrap(rawValue));
+            if (type.isInstance(value)) {
+                var key = remoteKeys.get(i);
+                found.put(key, (V) value);
+                cache.putLocal(TwoTierCache.localKey(key), value, generations[i]);
+                remoteHits++;
+            }
+        }
+        cache.getStatistics().recordHits(remoteHits, false);
+        cache.getStatistics().recordMisses(remoteKeys.size() - remoteHits);
+        return found;
+    }
+
+    public void putAll(String cacheName, Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        var cache = twoTierCache(cacheName);
+        var config = redisConfiguration(cache);
+        var dependents = cache.getDependentCaches();
+        cacheWriter.getCircuitBreaker().run(() -> CacheOperationRecorder.record(cacheName, "putAll", entries.size(), () -> {
+            try (var connection = connectionFactory.getConnection()) {
+                connection.openPipeline();
+                entries.forEach((key, value) -> {
+                    var ttl = config.getTtlFunction().getTimeToLive(key, value);
+                    connection.stringCommands().set(
+                            rawKey(config, cacheName, key),
+                            rawValue(config, value),
+                            expiration(ttl),
+                            SetOption.upsert()
+                    );
+                });
+                // derived representations of the written entries are stale now, drop them in the same round trip
+                for (var dependent : dependents) {
+                    var dependentConfig = redisConfiguration(dependent);
+                    var rawKeys = entries.keySet().stream()
+                            .map(key -> rawKey(dependentConfig, dependent.getName(), key))
+                            .toArray(byte[][]::new);
+                    connection.keyCommands().del(rawKeys);
+                }
+                connection.closePipeline();
+            }
+        }), () -> {
+            cacheWriter.recordSkippedWrites(cacheName, rawKeys(config, cacheName, entries.keySet()));
+            for (var dependent : dependents) {
+                var dependentConfig = redisConfiguration(dependent);
+                cacheWriter.recordSkippedWrites(dependent.getName(), rawKeys(dependentConfig, dependent.getName(), entries.keySet()));
+            }
+        });
+
+        var localKeys = entries.keySet().stream().map(TwoTierCache::localKey).toList();
+        var localEntries = new LinkedHashMap<String, Object>();
+        entries.forEach((key, value) -> localEntries.put(TwoTierCache.localKey(key), value));
+        cache.putAllLocalAndPublish(localEntries);
+        dependents.forEach(dependent -> dependent.invalidateLocalAndPublish(localKeys));
+    }
+
+    /**
+     * Deletes entries, and those of the dependent caches, in one pipeline and drops this node's near cache copies.
+     * Nothing is broadcast: meant for invalidations that every node receives itself.
+     */
+    public void evictAll(String cacheName, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        var cache = twoTierCache(cacheName);
+        var caches = new ArrayList<TwoTierCache>();
+        caches.add(cache);
+        caches.addAll(cache.getDependentCaches());
+        var rawKeys = new LinkedHashMap<String, List<byte[]>>();
+        for (var target : caches) {
+            rawKeys.put(target.getName(), rawKeys(redisConfiguration(target), target.getName(), keys));
+        }
+        cacheWriter.getCircuitBreaker().run(() -> CacheOperationRecorder.record(cacheName, "evictAll", keys.size(), () -> {
+            try (var connection = connectionFactory.getConnection()) {
+                connection.openPipeline();
+                rawKeys.values().forEach(cacheKeys -> connection.keyCommands().del(cacheKeys.toArray(byte[][]::new)));
+                connection.closePipeline();
+            }
+        }), () -> rawKeys.forEach(cacheWriter::recordSkippedWrites));
+
+        var localKeys = keys.stream().map(TwoTierCache::localKey).toList();
+        caches.forEach(target -> {
+            target.invalidateLocal(localKeys);
+            target.getStatistics().recordEvictions(localKeys.size());
+        });
+    }
+
+    /**
+     * Writes entries read from the database into redis only, skipping keys that already hold a (possibly newer) value.
+     * Nothing is broadcast, other nodes have nothing to invalidate for keys that were absent.
+     */
+    public void putAllIfAbsent(String cacheName, Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        var config = redisConfiguration(twoTierCache(cacheName));
+        // a preload skipped while redis is unavailable leaves nothing stale behind
+        cacheWriter.getCircuitBreaker().run(() -> CacheOperationRecorder.record(cacheName, "putAllIfAbsent", entries.size(), () -> {
+            try (var connection = connectionFactory.getConnection()) {
+                connection.openPipeline();
+                entries.forEach((key, value) -> connection.stringCommands().set(
+                        rawKey(config, cacheName, key),
+                        rawValue(config, value),
+                        expiration(config.getTtlFunction().getTimeToLive(key, value)),
+                        SetOption.ifAbsent()
+                ));
+                connection.closePipeline();
+            }
+        }), () -> {});
+    }
+
+    /**
+     * Defers {@link #putAll} until the surrounding transaction commits, like the transaction aware cache decorator.
+     */
+    public void putAllAfterCommit(String cacheName, Map<?, ?> entries) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            putAll(cacheName, entries);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                putAll(cacheName, entries);
+            }
+        });
+    }
+
+    private TwoTierCache twoTierCache(String cacheName) {
+        var cache = cacheManager.getTwoTierCache(cacheName);
+        if (cache == null) {
+            throw new IllegalArgumentException(String.format("Unknown cache: %s", cacheName));
+        }
+        return cache;
+    }
+
+    private static RedisCacheConfiguration redisConfiguration(TwoTierCache cache) {
+        if (cache.getRemote() instanceof RedisCache redisCache) {
+            return redisCache.getCacheConfiguration();
+        }
+        throw new IllegalStateException(String.format("Cache %s is not backed by redis", cache.getName()));
+    }
+
+    // mirrors RedisCache key creation: optional cache prefix followed by the key in string form
+    static byte[] rawKey(RedisCacheConfiguration config, String cacheName, Object key) {
+        var stringKey = TwoTierCache.localKey(key);
+        if (config.usePrefix()) {
+            stringKey = config.getKeyPrefixFor(cacheName) + stringKey;
+        }
+        return toBytes(config.getKeySerializationPair().write(stringKey));
+    }
+
+    private static List<byte[]> rawKeys(RedisCacheConfiguration config, String cacheName, Collection<?> keys) {
+        return keys.stream()
+                .map(key -> rawKey(config, cacheName, key))
+                .toList();
+    }
+
+    static byte[] rawValue(RedisCacheConfiguration config, Object value) {
+        return toBytes(config.getValueSerializationPair().write(value));
+    }
+
+    private static Expiration expiration(Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return Expiration.persistent();
+        }
+        return Expiration.from(ttl);
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,37 @@
+package net.zeotrope.item.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+public class CacheInvalidationListener implements MessageListener {
+    public static final Logger LOGGER = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    public CacheInvalidationListener(TwoTierCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    private final TwoTierCacheManager cacheManager;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = CacheInvalidationMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Ignoring malformed cache invalidation message", e);
+            return;
+        }
+        if (cacheManager.getNodeId().equals(invalidation.origin())) {
+            return;
+        }
+        if (invalidation.isClear()) {
+            cacheManager.clearLocal(invalidation.cacheName());
+        } else {
+            cacheManager.invalidateLocal(invalidation.cacheName(), invalidation.keys());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package net.zeotrope.item.cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Near cache invalidation broadcast between service nodes over Redis pub/sub.
+ * An empty key list means the whole cache has been cleared.
+ */
+public record CacheInvalidationMessage(
+        String origin,
+        String cacheName,
+        List<String> keys
+) {
+    private static final String SEPARATOR = "\n";
+
+    public boolean isClear() {
+        return keys.isEmpty();
+    }
+
+    public String encode() {
+        var builder = new StringBuilder(origin).append(SEPARATOR).append(cacheName);
+        keys.forEach(key -> builder.append(SEPARATOR).append(key));
+        return builder.toString();
+    }
+
+    public static CacheInvalidationMessage decode(String message) {
+        var parts = message.split(SEPARATOR);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException(String.format("Invalid cache invalidation message: %s", message));
+        }
+        return new CacheInvalidationMessage(
+                parts[0],
+                parts[1],
+                List.copyOf(Arrays.asList(parts).subList(2, parts.length))
+        );
+    }
+}
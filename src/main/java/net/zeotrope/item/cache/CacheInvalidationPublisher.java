@@ -0,0 +1,53 @@
+package net.zeotrope.item.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+public class CacheInvalidationPublisher {
+    public static final Logger LOGGER = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+
+    public CacheInvalidationPublisher(
+            StringRedisTemplate redisTemplate,
+            CircuitBreaker circuitBreaker,
+            String channel,
+            String nodeId) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.channel = channel;
+        this.nodeId = nodeId;
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    // shared with the cache writer, publishing is skipped instead of timing out on every write while redis is down
+    private final CircuitBreaker circuitBreaker;
+    private final String channel;
+    private final String nodeId;
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void publishEvict(String cacheName, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        publish(new CacheInvalidationMessage(nodeId, cacheName, List.copyOf(keys)));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, List.of()));
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        // a lost invalidation only leaves a near cache entry alive until its (short) ttl expires
+        try {
+            circuitBreaker.run(() -> redisTemplate.convertAndSend(channel, message.encode()), () -> {});
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to publish cache invalidation for cache {}", message.cacheName(), e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package net.zeotrope.item.cache;
+
+import net.zeotrope.item.configurer.SingleFlightProperties.SingleFlightSpec;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs cache miss loads for one cache, coalescing them per key in this JVM and optionally across nodes through a redis lease.
+ */
+public class CacheLoadCoordinator {
+
+    public CacheLoadCoordinator(
+            @Nullable SingleFlight singleFlight,
+            @Nullable CacheLoadLease lease,
+            Duration leaseWait,
+            Duration pollInterval) {
+        this.singleFlight = singleFlight;
+        this.lease = lease;
+        this.leaseWait = leaseWait;
+        this.pollInterval = pollInterval;
+    }
+
+    private final SingleFlight singleFlight;
+    private final CacheLoadLease lease;
+    private final Duration leaseWait;
+    private final Duration pollInterval;
+
+    public static CacheLoadCoordinator direct() {
+        return new CacheLoadCoordinator(null, null, Duration.ZERO, Duration.ZERO);
+    }
+
+    public static CacheLoadCoordinator create(
+            String cacheName,
+            SingleFlightSpec spec,
+            StringRedisTemplate redisTemplate,
+            CircuitBreaker circuitBreaker,
+            String owner) {
+        if (!spec.enabled()) {
+            return direct();
+        }
+        var lease = spec.leaseEnabled()
+                ? new CacheLoadLease(redisTemplate, circuitBreaker, cacheName, owner, spec.leaseTtl())
+                : null;
+        return new CacheLoadCoordinator(new SingleFlight(), lease, spec.leaseWait(), spec.pollInterval());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<ValueWrapper> lookup, Callable<T> loader, Consumer<T> store) throws Exception {
+        if (singleFlight == null) {
+            return loadAndStore(loader, store);
+        }
+        return singleFlight.execute(key, () -> {
+            // a flight that completed just before this one started may already have stored the value
+            var cached = lookup.get();
+            if (cached != null) {
+                return (T) cached.get();
+            }
+            return lease == null ? loadAndStore(loader, store) : loadWithLease(key, lookup, loader, store);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T loadWithLease(String key, Supplier<ValueWrapper> lookup, Callable<T> loader, Consumer<T> store) throws Exception {
+        var deadline = System.nanoTime() + leaseWait.toNanos();
+        var waited = false;
+        while (!lease.tryAcquire(key)) {
+            waited = true;
+            // the holder either stores the value or its lease lapses, whichever comes first
+            do {
+                if (System.nanoTime() >= deadline) {
+                    // the lease holder is slow, stop waiting and load
+                    return loadAndStore(loader, store);
+                }
+                Thread.sleep(pollInterval);
+                var cached = lookup.get();
+                if (cached != null) {
+                    return (T) cached.get();
+                }
+            } while (lease.isHeld(key));
+        }
+        try {
+            // a lease taken over from a holder that just finished may find its value already stored
+            var cached = waited ? lookup.get() : null;
+            return cached != null ? (T) cached.get() : loadAndStore(loader, store);
+        } finally {
+            lease.release(key);
+        }
+    }
+
+    private static <T> T loadAndStore(Callable<T> loader, Consumer<T> store) throws Exception {
+        T value = loader.call();
+        store.accept(value);
+        return value;
+    }
+}
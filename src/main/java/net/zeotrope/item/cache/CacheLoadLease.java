@@ -0,0 +1,78 @@
+package net.zeotrope.item.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cross-node loader lease stored in redis, so only one node loads a missing key from the database at a time.
+ */
+public class CacheLoadLease {
+    public static final Logger LOGGER = LoggerFactory.getLogger(CacheLoadLease.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class
+    );
+
+    public CacheLoadLease(
+            StringRedisTemplate redisTemplate,
+            CircuitBreaker circuitBreaker,
+            String cacheName,
+            String owner,
+            Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.cacheName = cacheName;
+        this.owner = owner;
+        this.ttl = ttl;
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    // shared with the cache writer, while it is open nobody can coordinate through redis and every node loads locally
+    private final CircuitBreaker circuitBreaker;
+    private final String cacheName;
+    private final String owner;
+    private final Duration ttl;
+
+    public boolean tryAcquire(String key) {
+        try {
+            return circuitBreaker.call(
+                    () -> Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey(key), owner, ttl)),
+                    () -> true
+            );
+        } catch (RuntimeException e) {
+            // without redis there is nobody to coordinate with, load locally
+            LOGGER.debug("Failed to acquire load lease for {}::{}", cacheName, key, e);
+            return true;
+        }
+    }
+
+    public boolean isHeld(String key) {
+        try {
+            return circuitBreaker.call(() -> Boolean.TRUE.equals(redisTemplate.hasKey(leaseKey(key))), () -> false);
+        } catch (RuntimeException e) {
+            // treat the lease as gone so the waiter stops polling and loads itself
+            LOGGER.debug("Failed to check load lease for {}::{}", cacheName, key, e);
+            return false;
+        }
+    }
+
+    public void release(String key) {
+        try {
+            // a lease left behind while redis is unavailable expires with its ttl
+            circuitBreaker.run(() -> redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey(key)), owner), () -> {});
+        } catch (RuntimeException e) {
+            LOGGER.debug("Failed to release load lease for {}::{}", cacheName, key, e);
+        }
+    }
+
+    private String leaseKey(String key) {
+        return String.format("lease:%s::%s", cacheName, key);
+    }
+}
@@ -0,0 +1,69 @@
+package net.zeotrope.item.cache;
+
+import net.zeotrope.item.jfr.CacheOperationEvent;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * Emits {@link CacheOperationEvent}s for redis round trips, those of the cache writer as well as the pipelines and
+ * scripts issued next to it. Events are only filled in and committed while a recording has them enabled and the call
+ * passes the recording's threshold; a failed call is committed with the class of its exception.
+ */
+final class CacheOperationRecorder {
+    private CacheOperationRecorder() {}
+
+    static CacheOperationEvent begin() {
+        var event = new CacheOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records a call covering {@code keyCount} entries, without a single key, hit or value size.
+     */
+    static <T> T record(String cache, String operation, int keyCount, Supplier<T> call) {
+        var event = begin();
+        Throwable failure = null;
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            commit(event, cache, operation, null, keyCount, false, null, failure);
+        }
+    }
+
+    static void record(String cache, String operation, int keyCount, Runnable call) {
+        record(cache, operation, keyCount, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    // the key is only decoded for events a recording keeps
+    static void commit(
+            CacheOperationEvent event,
+            String cache,
+            String operation,
+            @Nullable byte[] key,
+            int keyCount,
+            boolean hit,
+            @Nullable byte[] value,
+            @Nullable Throwable failure) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.cache = cache;
+        event.operation = operation;
+        event.key = key != null ? new String(key, StandardCharsets.UTF_8) : null;
+        event.keyCount = keyCount;
+        event.hit = hit;
+        event.valueSize = value != null ? value.length : 0L;
+        event.exception = failure != null ? failure.getClass().getName() : null;
+        event.commit();
+    }
+}
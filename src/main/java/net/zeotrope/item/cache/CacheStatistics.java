@@ -0,0 +1,95 @@
+package net.zeotrope.item.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Traffic counters of one two tier cache, published by {@link TwoTierCacheMeterBinder}.
+ * <p>
+ * Loads of missing entries are timed directly against the registry, as a histogram, so load latency percentiles
+ * can be aggregated across nodes. Without a registry the counters are still kept and loads go untimed.
+ */
+public class CacheStatistics {
+
+    public CacheStatistics(String cacheName, @Nullable MeterRegistry registry) {
+        this.loadSuccess = registry != null ? loadTimer(cacheName, "success", registry) : null;
+        this.loadFailure = registry != null ? loadTimer(cacheName, "failure", registry) : null;
+    }
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder nearHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Timer loadSuccess;
+    private final Timer loadFailure;
+
+    public void recordHits(int count, boolean near) {
+        hits.add(count);
+        if (near) {
+            nearHits.add(count);
+        }
+    }
+
+    public void recordMisses(int count) {
+        misses.add(count);
+    }
+
+    public void recordPuts(int count) {
+        puts.add(count);
+    }
+
+    public void recordEvictions(int count) {
+        evictions.add(count);
+    }
+
+    public <T> T recordLoad(Callable<T> loader) throws Exception {
+        if (loadSuccess == null) {
+            return loader.call();
+        }
+        var started = System.nanoTime();
+        try {
+            var value = loader.call();
+            loadSuccess.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return value;
+        } catch (Exception e) {
+            loadFailure.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    // hits answered by the in-process tier, a subset of all hits
+    public long nearHitCount() {
+        return nearHits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long putCount() {
+        return puts.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private static Timer loadTimer(String cacheName, String result, MeterRegistry registry) {
+        return Timer.builder("cache.loads")
+                .description("Time taken to load missing entries from the source of truth")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,6 @@
+package net.zeotrope.item.cache;
+
+public enum CacheValueFormat {
+    JSON,
+    BINARY
+}
@@ -0,0 +1,210 @@
+package net.zeotrope.item.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Count based circuit breaker. Calls that fail or run slower than the slow call threshold count as failures over a
+ * sliding window of recent calls; past the failure rate the breaker opens and every call takes its fallback without
+ * touching the protected resource. After the open duration a few probe calls are let through: all succeeding closes
+ * the breaker, any failing reopens it.
+ */
+public class CircuitBreaker {
+    public static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN, DISABLED }
+
+    public CircuitBreaker(
+            String name,
+            int windowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            Duration slowCallThreshold,
+            Duration openDuration,
+            int halfOpenProbes,
+            LongSupplier nanoClock) {
+        this.name = name;
+        this.outcomes = new boolean[Math.max(windowSize, 1)];
+        this.minimumCalls = Math.min(Math.max(minimumCalls, 1), outcomes.length);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThresholdNanos = slowCallThreshold.toNanos();
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenProbes = Math.max(halfOpenProbes, 1);
+        this.nanoClock = nanoClock;
+        this.state = State.CLOSED;
+    }
+
+    private CircuitBreaker(String name) {
+        this.name = name;
+        this.outcomes = new boolean[1];
+        this.minimumCalls = 1;
+        this.failureRateThreshold = 1;
+        this.slowCallThresholdNanos = Long.MAX_VALUE;
+        this.openDurationNanos = 0;
+        this.halfOpenProbes = 1;
+        this.nanoClock = System::nanoTime;
+        this.state = State.DISABLED;
+    }
+
+    private final String name;
+    // sliding window of call outcomes, true marking a failed or slow call
+    private final boolean[] outcomes;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallThresholdNanos;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+    private final List<Consumer<State>> listeners = new CopyOnWriteArrayList<>();
+    private volatile State state;
+    private int position;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private int probesIssued;
+    private int probesSucceeded;
+
+    /**
+     * A breaker that never opens, calls run as if unprotected and their failures propagate.
+     */
+    public static CircuitBreaker disabled(String name) {
+        return new CircuitBreaker(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void addStateListener(Consumer<State> listener) {
+        listeners.add(listener);
+    }
+
+    public <T> T call(Supplier<T> action, Supplier<T> fallback) {
+        if (state == State.DISABLED) {
+            return action.get();
+        }
+        if (!tryAcquirePermission()) {
+            return fallback.get();
+        }
+        var started = nanoClock.getAsLong();
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            onResult(nanoClock.getAsLong() - started, true);
+            LOGGER.debug("Call through circuit breaker {} failed, using the fallback", name, e);
+            return fallback.get();
+        }
+        onResult(nanoClock.getAsLong() - started, false);
+        return result;
+    }
+
+    public void run(Runnable action, Runnable fallback) {
+        call(() -> {
+            action.run();
+            return null;
+        }, () -> {
+            fallback.run();
+            return null;
+        });
+    }
+
+    boolean tryAcquirePermission() {
+        State transition = null;
+        boolean permitted;
+        synchronized (this) {
+            if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openDurationNanos) {
+                state = State.HALF_OPEN;
+                probesIssued = 0;
+                probesSucceeded = 0;
+                transition = State.HALF_OPEN;
+            }
+            permitted = switch (state) {
+                case CLOSED, DISABLED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> {
+                    if (probesIssued >= halfOpenProbes) {
+                        yield false;
+                    }
+                    probesIssued++;
+                    yield true;
+                }
+            };
+        }
+        notifyListeners(transition);
+        return permitted;
+    }
+
+    void onResult(long elapsedNanos, boolean error) {
+        var failed = error || elapsedNanos > slowCallThresholdNanos;
+        State transition = null;
+        synchronized (this) {
+            switch (state) {
+                case HALF_OPEN -> {
+                    if (failed) {
+                        transition = open();
+                    } else if (++probesSucceeded >= halfOpenProbes) {
+                        transition = close();
+                    }
+                }
+                case CLOSED -> {
+                    if (recorded == outcomes.length && outcomes[position]) {
+                        failures--;
+                    }
+                    outcomes[position] = failed;
+                    position = (position + 1) % outcomes.length;
+                    recorded = Math.min(recorded + 1, outcomes.length);
+                    if (failed) {
+                        failures++;
+                    }
+                    if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+                        transition = open();
+                    }
+                }
+                default -> {
+                    // results of calls permitted before the breaker opened no longer matter
+                }
+            }
+        }
+        notifyListeners(transition);
+    }
+
+    private State open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        return State.OPEN;
+    }
+
+    private State close() {
+        state = State.CLOSED;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+        return State.CLOSED;
+    }
+
+    private void notifyListeners(State transition) {
+        if (transition == null) {
+            return;
+        }
+        LOGGER.warn("Circuit breaker {} is now {}", name, transition);
+        for (var listener : listeners) {
+            try {
+                listener.accept(transition);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Circuit breaker {} state listener failed", name, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package net.zeotrope.item.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache writer that routes every redis operation through a circuit breaker. While the breaker is open reads miss,
+ * so callers fall through to the near cache and the database, and writes are skipped. Skipped writes are remembered
+ * per cache and their keys deleted once redis is back, so no entry outlives a change made during the outage.
+ */
+public class CircuitBreakingRedisCacheWriter implements RedisCacheWriter {
+    public static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakingRedisCacheWriter.class);
+
+    public CircuitBreakingRedisCacheWriter(RedisCacheWriter delegate, CircuitBreaker circuitBreaker, int maximumSkippedKeys) {
+        this(delegate, circuitBreaker, new SkippedWrites(maximumSkippedKeys));
+        circuitBreaker.addStateListener(state -> {
+            if (state == CircuitBreaker.State.CLOSED) {
+                Thread.ofVirtual().name("redis-cache-replay").start(this::replaySkippedWrites);
+            }
+        });
+    }
+
+    private CircuitBreakingRedisCacheWriter(RedisCacheWriter delegate, CircuitBreaker circuitBreaker, SkippedWrites skippedWrites) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.skippedWrites = skippedWrites;
+    }
+
+    private final RedisCacheWriter delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final SkippedWrites skippedWrites;
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Records writes made around this writer (pipelines, say) that were skipped because the breaker was open.
+     */
+    public void recordSkippedWrites(String name, Collection<byte[]> keys) {
+        keys.forEach(key -> skippedWrites.add(name, key));
+    }
+
+    @Override
+    @Nullable
+    public byte[] get(String name, byte[] key, @Nullable Duration ttl) {
+        return circuitBreaker.call(() -> delegate.get(name, key, ttl), () -> null);
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, @Nullable Duration ttl) {
+        return circuitBreaker.call(() -> delegate.retrieve(name, key, ttl), () -> CompletableFuture.completedFuture(null));
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        circuitBreaker.run(() -> delegate.put(name, key, value, ttl), () -> skippedWrites.add(name, key));
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        return circuitBreaker.call(() -> delegate.store(name, key, value, ttl), () -> {
+            skippedWrites.add(name, key);
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    @Override
+    @Nullable
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        return circuitBreaker.call(() -> delegate.putIfAbsent(name, key, value, ttl), () -> {
+            skippedWrites.add(name, key);
+            return null;
+        });
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        circuitBreaker.run(() -> delegate.remove(name, key), () -> skippedWrites.add(name, key));
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        circuitBreaker.run(() -> delegate.clean(name, pattern), () -> skippedWrites.markAll(name));
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new CircuitBreakingRedisCacheWriter(
+                delegate.withStatisticsCollector(cacheStatisticsCollector), circuitBreaker, skippedWrites);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+
+    // deletes what may have gone stale while writes were skipped, going straight to redis now the breaker has closed
+    void replaySkippedWrites() {
+        for (var name : skippedWrites.drainCachesToClear()) {
+            try {
+                // RedisCacheManager's default key prefix is "<cache name>::"
+                delegate.clean(name, (name + "::*").getBytes(StandardCharsets.UTF_8));
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to clear cache {} after the redis circuit closed", name, e);
+                skippedWrites.markAll(name);
+            }
+        }
+        skippedWrites.drainKeys().forEach((name, keys) -> {
+            for (var key : keys) {
+                try {
+                    delegate.remove(name, key.array());
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Failed to remove a skipped key of cache {} after the redis circuit closed", name, e);
+                    skippedWrites.add(name, key.array());
+                }
+            }
+        });
+    }
+
+    /**
+     * Keys written while the breaker was open, per cache. Past the bound a cache is cleared wholesale instead.
+     */
+    private static final class SkippedWrites {
+
+        SkippedWrites(int maximumKeys) {
+            this.maximumKeys = maximumKeys;
+        }
+
+        private final int maximumKeys;
+        private final Map<String, Set<ByteBuffer>> keys = new ConcurrentHashMap<>();
+        private final Set<String> cachesToClear = ConcurrentHashMap.newKeySet();
+
+        void add(String name, byte[] key) {
+            if (cachesToClear.contains(name)) {
+                return;
+            }
+            var cacheKeys = keys.computeIfAbsent(name, cacheName -> ConcurrentHashMap.newKeySet());
+            if (cacheKeys.size() >= maximumKeys) {
+                markAll(name);
+                return;
+            }
+            cacheKeys.add(ByteBuffer.wrap(key.clone()));
+        }
+
+        void markAll(String name) {
+            cachesToClear.add(name);
+            keys.remove(name);
+        }
+
+        Set<String> drainCachesToClear() {
+            var names = Set.copyOf(cachesToClear);
+            cachesToClear.removeAll(names);
+            return names;
+        }
+
+        Map<String, Set<ByteBuffer>> drainKeys() {
+            var drained = new HashMap<String, Set<ByteBuffer>>();
+            for (var name : Set.copyOf(keys.keySet())) {
+                var cacheKeys = keys.remove(name);
+                if (cacheKeys != null) {
+                    drained.put(name, cacheKeys);
+                }
+            }
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package net.zeotrope.item.cache;
+
+/**
+ * Conditional write to the remote tier of a cache.
+ */
+@FunctionalInterface
+public interface CompareAndSet {
+    /**
+     * Replaces the remote entry for {@code key} with {@code value} only while it still holds {@code expected}.
+     *
+     * @return whether the entry was replaced
+     */
+    boolean replace(Object key, Object expected, Object value);
+}
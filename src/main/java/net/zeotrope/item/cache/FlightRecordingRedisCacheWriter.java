@@ -0,0 +1,144 @@
+package net.zeotrope.item.cache;
+
+import net.zeotrope.item.jfr.CacheOperationEvent;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cache writer emitting a {@link CacheOperationEvent} for every redis call it makes, failed ones included. Events are
+ * only filled in and committed while a recording has them enabled and the call passes the recording's threshold.
+ */
+public class FlightRecordingRedisCacheWriter implements RedisCacheWriter {
+
+    public FlightRecordingRedisCacheWriter(RedisCacheWriter delegate) {
+        this.delegate = delegate;
+    }
+
+    private final RedisCacheWriter delegate;
+
+    @Override
+    @Nullable
+    public byte[] get(String name, byte[] key, @Nullable Duration ttl) {
+        var event = CacheOperationRecorder.begin();
+        byte[] value = null;
+        Throwable failure = null;
+        try {
+            value = delegate.get(name, key, ttl);
+            return value;
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            CacheOperationRecorder.commit(event, name, "get", key, 1, value != null, value, failure);
+        }
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, @Nullable Duration ttl) {
+        var event = CacheOperationRecorder.begin();
+        try {
+            return delegate.retrieve(name, key, ttl).whenComplete((value, error) ->
+                    CacheOperationRecorder.commit(event, name, "get", key, 1, value != null, value, error));
+        } catch (RuntimeException e) {
+            CacheOperationRecorder.commit(event, name, "get", key, 1, false, null, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        var event = CacheOperationRecorder.begin();
+        Throwable failure = null;
+        try {
+            delegate.put(name, key, value, ttl);
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            CacheOperationRecorder.commit(event, name, "put", key, 1, false, value, failure);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        var event = CacheOperationRecorder.begin();
+        try {
+            return delegate.store(name, key, value, ttl).whenComplete((result, error) ->
+                    CacheOperationRecorder.commit(event, name, "put", key, 1, false, value, error));
+        } catch (RuntimeException e) {
+            CacheOperationRecorder.commit(event, name, "put", key, 1, false, value, e);
+            throw e;
+        }
+    }
+
+    @Override
+    @Nullable
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        var event = CacheOperationRecorder.begin();
+        byte[] existing = null;
+        Throwable failure = null;
+        try {
+            existing = delegate.putIfAbsent(name, key, value, ttl);
+            return existing;
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            CacheOperationRecorder.commit(
+                    event, name, "putIfAbsent", key, 1, existing != null, existing != null ? existing : value, failure);
+        }
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        var event = CacheOperationRecorder.begin();
+        Throwable failure = null;
+        try {
+            delegate.remove(name, key);
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            CacheOperationRecorder.commit(event, name, "evict", key, 1, false, null, failure);
+        }
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        var event = CacheOperationRecorder.begin();
+        Throwable failure = null;
+        try {
+            delegate.clean(name, pattern);
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            CacheOperationRecorder.commit(event, name, "clear", pattern, 0, false, null, failure);
+        }
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new FlightRecordingRedisCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector));
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+}
@@ -0,0 +1,222 @@
+package net.zeotrope.item.cache;
+
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Hand written schema codec for cached items.
+ * <p>
+ * Layout (version 1): magic byte, version byte, presence bitmask, then each present field in declaration order.
+ * Integers are zig-zag varints, strings a varint length followed by UTF-8 bytes, date times epoch seconds (UTC)
+ * plus nanos, and the status a one byte code.
+ */
+public class ItemBinaryRedisSerializer implements RedisSerializer<Item> {
+
+    static final byte MAGIC = (byte) 0xA7;
+    static final byte VERSION_1 = 1;
+
+    private static final int ID = 1;
+    private static final int STATUS = 1 << 1;
+    private static final int NAME = 1 << 2;
+    private static final int SUMMARY = 1 << 3;
+    private static final int CREATED_AT = 1 << 4;
+    private static final int LAST_MODIFIED_AT = 1 << 5;
+    private static final int DISCONTINUED_AT = 1 << 6;
+
+    public static boolean isBinary(@Nullable byte[] bytes) {
+        return bytes != null && bytes.length > 0 && bytes[0] == MAGIC;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Item item) throws SerializationException {
+        if (item == null) {
+            return new byte[0];
+        }
+        var name = utf8(item.getName());
+        var summary = utf8(item.getSummary());
+        var writer = new Writer(24 + length(name) + length(summary));
+        writer.writeByte(MAGIC);
+        writer.writeByte(VERSION_1);
+        writer.writeByte(presence(item));
+        if (item.getId() != null) {
+            writer.writeVarLong(item.getId());
+        }
+        if (item.getStatus() != null) {
+            writer.writeByte(statusCode(item.getStatus()));
+        }
+        if (name != null) {
+            writer.writeBytes(name);
+        }
+        if (summary != null) {
+            writer.writeBytes(summary);
+        }
+        writer.writeDateTime(item.getCreatedAt());
+        writer.writeDateTime(item.getLastModifiedAt());
+        writer.writeDateTime(item.getDiscontinuedAt());
+        return writer.toByteArray();
+    }
+
+    @Override
+    @Nullable
+    public Item deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (!isBinary(bytes)) {
+            throw new SerializationException("Cached value is not a binary encoded item");
+        }
+        if (bytes.length < 3 || bytes[1] != VERSION_1) {
+            throw new SerializationException(String.format("Unsupported binary item version: %d", bytes.length > 1 ? bytes[1] : -1));
+        }
+        try {
+            var reader = new Reader(bytes, 2);
+            var presence = reader.readByte();
+            return new Item(
+                    (presence & ID) != 0 ? reader.readVarLong() : null,
+                    (presence & STATUS) != 0 ? status(reader.readByte()) : null,
+                    (presence & NAME) != 0 ? reader.readString() : null,
+                    (presence & SUMMARY) != 0 ? reader.readString() : null,
+                    (presence & CREATED_AT) != 0 ? reader.readDateTime() : null,
+                    (presence & LAST_MODIFIED_AT) != 0 ? reader.readDateTime() : null,
+                    (presence & DISCONTINUED_AT) != 0 ? reader.readDateTime() : null
+            );
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated binary item", e);
+        }
+    }
+
+    private static int presence(Item item) {
+        var presence = 0;
+        presence |= item.getId() != null ? ID : 0;
+        presence |= item.getStatus() != null ? STATUS : 0;
+        presence |= item.getName() != null ? NAME : 0;
+        presence |= item.getSummary() != null ? SUMMARY : 0;
+        presence |= item.getCreatedAt() != null ? CREATED_AT : 0;
+        presence |= item.getLastModifiedAt() != null ? LAST_MODIFIED_AT : 0;
+        presence |= item.getDiscontinuedAt() != null ? DISCONTINUED_AT : 0;
+        return presence;
+    }
+
+    // explicit codes rather than ordinals, so reordering the enum cannot corrupt cached entries
+    private static int statusCode(ItemStatus status) {
+        return switch (status) {
+            case CURRENT -> 0;
+            case DISCONTINUED -> 1;
+        };
+    }
+
+    private static ItemStatus status(int code) {
+        return switch (code) {
+            case 0 -> ItemStatus.CURRENT;
+            case 1 -> ItemStatus.DISCONTINUED;
+            default -> throw new SerializationException(String.format("Unknown item status code: %d", code));
+        };
+    }
+
+    @Nullable
+    private static byte[] utf8(@Nullable String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int length(@Nullable byte[] bytes) {
+        return bytes != null ? bytes.length + 5 : 0;
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            var zigZag = (value << 1) ^ (value >> 63);
+            while ((zigZag & ~0x7FL) != 0) {
+                writeByte((int) ((zigZag & 0x7F) | 0x80));
+                zigZag >>>= 7;
+            }
+            writeByte((int) zigZag);
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeDateTime(@Nullable LocalDateTime dateTime) {
+            if (dateTime == null) {
+                return;
+            }
+            writeVarLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            writeVarLong(dateTime.getNano());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        int readByte() {
+            return buffer[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long zigZag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                var b = readByte();
+                zigZag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigZag >>> 1) ^ -(zigZag & 1);
+                }
+            }
+            throw new SerializationException("Malformed varint in binary item");
+        }
+
+        String readString() {
+            var length = (int) readVarLong();
+            if (length < 0 || position + length > buffer.length) {
+                throw new SerializationException("Malformed string length in binary item");
+            }
+            var value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        LocalDateTime readDateTime() {
+            var epochSecond = readVarLong();
+            var nano = (int) readVarLong();
+            return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        }
+    }
+}
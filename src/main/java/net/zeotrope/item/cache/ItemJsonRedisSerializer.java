@@ -0,0 +1,58 @@
+package net.zeotrope.item.cache;
+
+import net.zeotrope.item.model.ItemJson;
+import net.zeotrope.item.model.ItemVersion;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Stores a rendered response body behind a fixed header holding its validators.
+ * <p>
+ * Layout (version 1): version byte, item id and modification time in epoch microseconds as 8 byte big endian longs,
+ * then the body as it is served. Entries without the header, bodies cached before it existed, are read as misses.
+ */
+public class ItemJsonRedisSerializer implements RedisSerializer<ItemJson> {
+
+    static final byte VERSION_1 = 1;
+    private static final int HEADER_SIZE = 1 + Long.BYTES + Long.BYTES;
+    // an item without a modification time, sent without Last-Modified
+    private static final long NO_MODIFICATION_TIME = Long.MIN_VALUE;
+
+    @Override
+    public byte[] serialize(@Nullable ItemJson value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        var version = value.version();
+        return ByteBuffer.allocate(HEADER_SIZE + value.body().length)
+                .put(VERSION_1)
+                .putLong(version.id())
+                .putLong(version.lastModifiedAt() != null ? version.epochMicros() : NO_MODIFICATION_TIME)
+                .put(value.body())
+                .array();
+    }
+
+    @Override
+    @Nullable
+    public ItemJson deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < HEADER_SIZE || bytes[0] != VERSION_1) {
+            return null;
+        }
+        var header = ByteBuffer.wrap(bytes, 1, HEADER_SIZE - 1);
+        var id = header.getLong();
+        var epochMicros = header.getLong();
+        var version = epochMicros != NO_MODIFICATION_TIME
+                ? ItemVersion.ofEpochMicros(id, epochMicros)
+                : new ItemVersion(id, null);
+        return new ItemJson(version, Arrays.copyOfRange(bytes, HEADER_SIZE, bytes.length));
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return ItemJson.class;
+    }
+}
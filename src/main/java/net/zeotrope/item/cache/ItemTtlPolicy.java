@@ -0,0 +1,56 @@
+package net.zeotrope.item.cache;
+
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.lang.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Picks the time to live of each cached entry from the item itself: per status, and longer for items that
+ * have not been modified for a while. Values that are not items get the default.
+ */
+public class ItemTtlPolicy implements RedisCacheWriter.TtlFunction {
+
+    public ItemTtlPolicy(
+            Duration defaultTtl,
+            Map<ItemStatus, Duration> statusTtls,
+            @Nullable Duration stableAfter,
+            @Nullable Duration stableTtl,
+            Clock clock) {
+        this.defaultTtl = defaultTtl;
+        this.statusTtls = Map.copyOf(statusTtls);
+        this.stableAfter = stableAfter;
+        this.stableTtl = stableTtl;
+        this.clock = clock;
+    }
+
+    private final Duration defaultTtl;
+    private final Map<ItemStatus, Duration> statusTtls;
+    private final Duration stableAfter;
+    private final Duration stableTtl;
+    private final Clock clock;
+
+    @Override
+    public Duration getTimeToLive(Object key, @Nullable Object value) {
+        if (!(value instanceof Item item)) {
+            return defaultTtl;
+        }
+        var ttl = item.getStatus() != null ? statusTtls.getOrDefault(item.getStatus(), defaultTtl) : defaultTtl;
+        if (isStable(item) && stableTtl.compareTo(ttl) > 0) {
+            return stableTtl;
+        }
+        return ttl;
+    }
+
+    private boolean isStable(Item item) {
+        return stableAfter != null
+                && stableTtl != null
+                && item.getLastModifiedAt() != null
+                && item.getLastModifiedAt().isBefore(LocalDateTime.now(clock).minus(stableAfter));
+    }
+}
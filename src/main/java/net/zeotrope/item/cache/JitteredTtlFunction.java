@@ -0,0 +1,45 @@
+package net.zeotrope.item.cache;
+
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Spreads the expiry of entries written together by scaling each TTL by a factor in {@code [1 - jitter, 1 + jitter)}.
+ * <p>
+ * The factor is derived from the key rather than drawn per call, so every node (and the refresh-ahead tracker)
+ * computes the same expiry for an entry while keys written in one burst still expire at different moments.
+ */
+public class JitteredTtlFunction implements RedisCacheWriter.TtlFunction {
+
+    public JitteredTtlFunction(RedisCacheWriter.TtlFunction delegate, double jitter) {
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException(String.format("TTL jitter must be in [0, 1): %s", jitter));
+        }
+        this.delegate = delegate;
+        this.jitter = jitter;
+    }
+
+    private final RedisCacheWriter.TtlFunction delegate;
+    private final double jitter;
+
+    @Override
+    public Duration getTimeToLive(Object key, @Nullable Object value) {
+        var ttl = delegate.getTimeToLive(key, value);
+        if (jitter == 0 || ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return ttl;
+        }
+        // top 53 bits of the mixed key hash as a uniform double in [0, 1)
+        var unit = (mix(TwoTierCache.localKey(key).hashCode()) >>> 11) * 0x1.0p-53;
+        var factor = 1 + jitter * (2 * unit - 1);
+        return Duration.ofMillis(Math.max(1, Math.round(ttl.toMillis() * factor)));
+    }
+
+    private static long mix(long value) {
+        var z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
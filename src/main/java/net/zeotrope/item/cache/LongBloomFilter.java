@@ -0,0 +1,76 @@
+package net.zeotrope.item.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread safe Bloom filter over long keys. Answers "definitely absent" or "possibly present";
+ * keys cannot be removed, so deletions only ever leave false positives behind.
+ */
+public class LongBloomFilter {
+
+    private LongBloomFilter(long bitCount, int hashCount) {
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        this.bitCount = (long) bits.length() << 6;
+        this.hashCount = hashCount;
+    }
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Sized for {@code expectedKeys} insertions at the given false positive probability.
+     */
+    public static LongBloomFilter create(long expectedKeys, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException(String.format("False positive rate must be in (0, 1): %s", falsePositiveRate));
+        }
+        var keys = Math.max(expectedKeys, 1);
+        var bitCount = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        // an int indexed AtomicLongArray caps the filter at 2^31 words
+        bitCount = Math.min(Math.max(bitCount, 64), (long) Integer.MAX_VALUE << 6);
+        var hashCount = (int) Math.max(1, Math.round((double) bitCount / keys * Math.log(2)));
+        return new LongBloomFilter(bitCount, hashCount);
+    }
+
+    public void put(long key) {
+        var h1 = mix(key);
+        var h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            var index = Math.floorMod(h1 + i * h2, bitCount);
+            var mask = 1L << index;
+            var word = (int) (index >>> 6);
+            if ((bits.get(word) & mask) == 0) {
+                bits.getAndAccumulate(word, mask, (current, bit) -> current | bit);
+            }
+        }
+    }
+
+    public boolean mightContain(long key) {
+        var h1 = mix(key);
+        var h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            var index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // SplitMix64 finalizer, sequential ids must not land on neighbouring bits
+    private static long mix(long value) {
+        var z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,81 @@
+package net.zeotrope.item.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the encoded size of cached values, as a histogram, and the time spent encoding and decoding them.
+ */
+public class MeteredRedisSerializer<T> implements RedisSerializer<T> {
+
+    public MeteredRedisSerializer(RedisSerializer<T> delegate, String cacheName, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.serializedSize = sizeSummary(cacheName, "serialize", registry);
+        this.deserializedSize = sizeSummary(cacheName, "deserialize", registry);
+        this.serializeTimer = timer(cacheName, "serialize", registry);
+        this.deserializeTimer = timer(cacheName, "deserialize", registry);
+    }
+
+    private final RedisSerializer<T> delegate;
+    private final DistributionSummary serializedSize;
+    private final DistributionSummary deserializedSize;
+    private final Timer serializeTimer;
+    private final Timer deserializeTimer;
+
+    @Override
+    @Nullable
+    public byte[] serialize(@Nullable T value) throws SerializationException {
+        var started = System.nanoTime();
+        var bytes = delegate.serialize(value);
+        serializeTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (bytes != null) {
+            serializedSize.record(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    @Nullable
+    public T deserialize(@Nullable byte[] bytes) throws SerializationException {
+        var started = System.nanoTime();
+        var value = delegate.deserialize(bytes);
+        deserializeTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (bytes != null) {
+            deserializedSize.record(bytes.length);
+        }
+        return value;
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return delegate.getTargetType();
+    }
+
+    private static DistributionSummary sizeSummary(String cacheName, String operation, MeterRegistry registry) {
+        return DistributionSummary.builder("cache.value.size")
+                .description("Encoded size of cached values")
+                .baseUnit(BaseUnits.BYTES)
+                .tag("cache", cacheName)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(16.0)
+                .maximumExpectedValue(1_048_576.0)
+                .register(registry);
+    }
+
+    // count, total and max only, the size summaries carry the histograms
+    private static Timer timer(String cacheName, String operation, MeterRegistry registry) {
+        return Timer.builder("cache.value.serialization")
+                .description("Time spent encoding and decoding cached values")
+                .tag("cache", cacheName)
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
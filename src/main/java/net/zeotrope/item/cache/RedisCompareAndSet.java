@@ -0,0 +1,65 @@
+package net.zeotrope.item.cache;
+
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compare-and-set of a redis cache entry, comparing the serialized bytes of the expected value in a script so that no
+ * write can land between the comparison and the SET. Skipped (reported as not replaced) while the breaker is open.
+ */
+public class RedisCompareAndSet implements CompareAndSet {
+
+    private static final byte[] REPLACE_SCRIPT = """
+            if redis.call('get', KEYS[1]) ~= ARGV[1] then
+              return 0
+            end
+            if tonumber(ARGV[3]) > 0 then
+              redis.call('set', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            else
+              redis.call('set', KEYS[1], ARGV[2])
+            end
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    public RedisCompareAndSet(
+            String cacheName,
+            RedisCacheConfiguration config,
+            RedisConnectionFactory connectionFactory,
+            CircuitBreaker circuitBreaker) {
+        this.cacheName = cacheName;
+        this.config = config;
+        this.connectionFactory = connectionFactory;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    private final String cacheName;
+    private final RedisCacheConfiguration config;
+    private final RedisConnectionFactory connectionFactory;
+    private final CircuitBreaker circuitBreaker;
+
+    @Override
+    public boolean replace(Object key, Object expected, Object value) {
+        var rawKey = BatchCacheOperations.rawKey(config, cacheName, key);
+        var rawExpected = BatchCacheOperations.rawValue(config, expected);
+        var rawValue = BatchCacheOperations.rawValue(config, value);
+        var ttl = config.getTtlFunction().getTimeToLive(key, value);
+        var ttlMillis = ttl == null || ttl.isNegative() ? 0L : ttl.toMillis();
+        return circuitBreaker.call(() -> CacheOperationRecorder.record(cacheName, "replace", 1, () -> {
+            try (var connection = connectionFactory.getConnection()) {
+                Long replaced = connection.scriptingCommands().eval(
+                        REPLACE_SCRIPT,
+                        ReturnType.INTEGER,
+                        1,
+                        rawKey,
+                        rawExpected,
+                        rawValue,
+                        Long.toString(ttlMillis).getBytes(StandardCharsets.UTF_8)
+                );
+                return Long.valueOf(1L).equals(replaced);
+            }
+        }), () -> false);
+    }
+}
@@ -0,0 +1,121 @@
+package net.zeotrope.item.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Probabilistic early expiration (XFetch) for entries this node loaded or wrote.
+ * <p>
+ * Each read of a tracked entry refreshes it early with a probability that grows as its expiry approaches and with the
+ * time its last load took, so hot entries are reloaded in the background before they expire while cold ones expire normally.
+ */
+public class RefreshAhead {
+    public static final Logger LOGGER = LoggerFactory.getLogger(RefreshAhead.class);
+
+    public RefreshAhead(
+            RedisCacheWriter.TtlFunction ttlFunction,
+            double beta,
+            long maximumTrackedKeys,
+            Executor executor,
+            LongSupplier nanoClock) {
+        this.ttlFunction = ttlFunction;
+        this.beta = beta;
+        this.executor = executor;
+        this.nanoClock = nanoClock;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumTrackedKeys)
+                .build();
+    }
+
+    private final RedisCacheWriter.TtlFunction ttlFunction;
+    private final double beta;
+    private final Executor executor;
+    private final LongSupplier nanoClock;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Tracked> entries;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong stamps = new AtomicLong();
+
+    private record Tracked(long expiresAt, long loadNanos, long stamp) {}
+
+    /**
+     * Tracks an entry just written to the remote cache, {@code loadNanos} being what recomputing it cost (0 if unknown).
+     */
+    public void recordWrite(String localKey, Object key, Object value, long loadNanos) {
+        var ttl = ttlFunction.getTimeToLive(key, value);
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            entries.invalidate(localKey);
+            return;
+        }
+        var previous = entries.getIfPresent(localKey);
+        var delta = loadNanos > 0 ? loadNanos : previous != null ? previous.loadNanos() : 0L;
+        entries.put(localKey, new Tracked(nanoClock.getAsLong() + ttl.toNanos(), delta, stamps.incrementAndGet()));
+    }
+
+    public void forget(String localKey) {
+        entries.invalidate(localKey);
+    }
+
+    public void forgetAll() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * Starts a background refresh of the entry if XFetch says so, unless one is already running.
+     * The reload is stored only if nothing wrote or evicted the entry meanwhile.
+     */
+    public void maybeRefresh(String localKey, RefreshTask task) {
+        var tracked = entries.getIfPresent(localKey);
+        if (tracked == null || tracked.loadNanos() <= 0 || !shouldRefresh(tracked)) {
+            return;
+        }
+        if (!refreshing.add(localKey)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.refresh(() -> {
+                        var current = entries.getIfPresent(localKey);
+                        return current != null && current.stamp() == tracked.stamp();
+                    });
+                } catch (Exception e) {
+                    LOGGER.debug("Refresh ahead of {} failed, the entry expires normally", localKey, e);
+                } finally {
+                    refreshing.remove(localKey);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(localKey);
+            LOGGER.debug("Refresh ahead of {} was not scheduled", localKey, e);
+        }
+    }
+
+    // XFetch: now - delta * beta * ln(random) >= expiry, ln(random) being negative
+    private boolean shouldRefresh(Tracked tracked) {
+        var random = ThreadLocalRandom.current().nextDouble(Double.MIN_VALUE, 1.0);
+        var gap = (long) (tracked.loadNanos() * beta * -Math.log(random));
+        return nanoClock.getAsLong() + gap >= tracked.expiresAt();
+    }
+
+    boolean isTracked(String localKey) {
+        return entries.getIfPresent(localKey) != null;
+    }
+
+    @FunctionalInterface
+    public interface RefreshTask {
+        /**
+         * Reloads the entry; {@code unchanged} tells whether it may still be stored.
+         */
+        void refresh(BooleanSupplier unchanged) throws Exception;
+    }
+}
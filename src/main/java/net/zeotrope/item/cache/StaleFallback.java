@@ -0,0 +1,99 @@
+package net.zeotrope.item.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Stale-while-revalidate for one cache: the last value of each key is kept in process for a grace window after it
+ * leaves the cache. A miss with a stale value at hand is given a latency budget; if the load overruns it, or fails
+ * because the database is unavailable, the stale value is returned and the load carries on in the background.
+ */
+public class StaleFallback {
+    public static final Logger LOGGER = LoggerFactory.getLogger(StaleFallback.class);
+
+    public StaleFallback(Duration grace, long maximumSize, Duration latencyBudget, Executor executor) {
+        this.latencyBudget = latencyBudget;
+        this.executor = executor;
+        this.values = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(grace)
+                .build();
+    }
+
+    private final Duration latencyBudget;
+    private final Executor executor;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> values;
+
+    public void remember(String localKey, Object value) {
+        values.put(localKey, value);
+    }
+
+    public void forget(String localKey) {
+        values.invalidate(localKey);
+    }
+
+    public void forgetAll() {
+        values.invalidateAll();
+    }
+
+    @Nullable
+    public Object getStale(String localKey) {
+        return values.getIfPresent(localKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T loadOrStale(String localKey, Object stale, Callable<T> load) throws Exception {
+        var future = new CompletableFuture<T>();
+        executor.execute(() -> {
+            try {
+                future.complete(load.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        try {
+            return future.get(latencyBudget.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            LOGGER.warn("Load of {} exceeded its {} ms budget, serving the stale value", localKey, latencyBudget.toMillis());
+            StaleReads.markServed();
+            return (T) stale;
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (isUnavailable(cause)) {
+                LOGGER.warn("Load of {} failed, serving the stale value", localKey, cause);
+                StaleReads.markServed();
+                return (T) stale;
+            }
+            // anything else (the item no longer exists, say) is an answer, not an outage
+            forget(localKey);
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isUnavailable(@Nullable Throwable throwable) {
+        for (var cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessException
+                    || cause instanceof TransactionException
+                    || cause instanceof SQLException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
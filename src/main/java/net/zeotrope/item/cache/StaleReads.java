@@ -0,0 +1,28 @@
+package net.zeotrope.item.cache;
+
+/**
+ * Marks the current thread as having been served a stale cache value, so the response can be flagged
+ * and nothing derived from it is cached.
+ */
+public final class StaleReads {
+
+    private static final ThreadLocal<Boolean> SERVED = new ThreadLocal<>();
+
+    private StaleReads() {
+    }
+
+    static void markServed() {
+        SERVED.set(Boolean.TRUE);
+    }
+
+    public static boolean isServed() {
+        return Boolean.TRUE.equals(SERVED.get());
+    }
+
+    // reads and clears the mark, called once the response is written
+    public static boolean consume() {
+        var served = isServed();
+        SERVED.remove();
+        return served;
+    }
+}
@@ -0,0 +1,447 @@
+package net.zeotrope.item.cache;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Cache with a bounded in-process (L1) tier in front of a shared remote (L2) cache.
+ * Writes go to both tiers and are broadcast so that other nodes drop their L1 copy.
+ */
+public class TwoTierCache implements Cache {
+    public static final String LOOKUP_OBSERVATION = "cache.lookup";
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    public TwoTierCache(
+            Cache remote,
+            @Nullable com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+            CacheInvalidationPublisher publisher,
+            CacheLoadCoordinator loadCoordinator,
+            @Nullable RefreshAhead refreshAhead,
+            @Nullable StaleFallback staleFallback,
+            CacheStatistics statistics,
+            ObservationRegistry observationRegistry) {
+        this.remote = remote;
+        this.local = local;
+        this.publisher = publisher;
+        this.loadCoordinator = loadCoordinator;
+        this.refreshAhead = refreshAhead;
+        this.staleFallback = staleFallback;
+        this.statistics = statistics;
+        this.observationRegistry = observationRegistry;
+    }
+
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final CacheInvalidationPublisher publisher;
+    private final CacheLoadCoordinator loadCoordinator;
+    private final RefreshAhead refreshAhead;
+    private final StaleFallback staleFallback;
+    private final CacheStatistics statistics;
+    private final ObservationRegistry observationRegistry;
+    // bumped before any change to a near cache entry, a fill from a remote read that started earlier is dropped
+    private final AtomicLongArray localGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final List<String> dependentCacheNames = new CopyOnWriteArrayList<>();
+    private volatile Function<String, TwoTierCache> cacheResolver = name -> null;
+    private volatile CompareAndSet compareAndSet = this::replaceInMap;
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    public Cache getRemote() {
+        return remote;
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    // entries held by this node's near cache, null without one
+    @Nullable
+    public Long getLocalSize() {
+        return local != null ? local.estimatedSize() : null;
+    }
+
+    /**
+     * Caches holding representations derived from this cache's entries (same keys), evicted whenever an entry here changes.
+     */
+    public void setDependentCaches(List<String> cacheNames, Function<String, TwoTierCache> cacheResolver) {
+        this.dependentCacheNames.clear();
+        this.dependentCacheNames.addAll(cacheNames);
+        this.cacheResolver = cacheResolver;
+    }
+
+    /**
+     * Conditional write used by refresh-ahead, by default only atomic for remote caches backed by a concurrent map.
+     */
+    public void setCompareAndSet(CompareAndSet compareAndSet) {
+        this.compareAndSet = compareAndSet;
+    }
+
+    public List<TwoTierCache> getDependentCaches() {
+        return dependentCacheNames.stream()
+                .map(cacheResolver)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        var observation = startLookupObservation();
+        try {
+            var wrapper = lookup(key, true);
+            observation.lowCardinalityKeyValue("result", wrapper != null ? "hit" : "miss");
+            return wrapper;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Times a lookup in both tiers as a stage of the current observation (the request it serves). The load of a miss
+     * is left out, the loader is observed on its own.
+     */
+    Observation startLookupObservation() {
+        return Observation.createNotStarted(LOOKUP_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue("cache", getName())
+                .start();
+    }
+
+    // a coalesced load looks again once the leading load is done, that second look is not another request
+    @Nullable
+    private ValueWrapper lookup(Object key, boolean counted) {
+        var localKey = localKey(key);
+        if (local != null) {
+            var value = local.getIfPresent(localKey);
+            if (value != null) {
+                if (counted) {
+                    statistics.recordHits(1, true);
+                }
+                return new SimpleValueWrapper(value);
+            }
+        }
+        var generation = localGeneration(localKey);
+        var wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            putLocal(localKey, wrapper.get(), generation);
+        }
+        if (counted) {
+            if (wrapper != null) {
+                statistics.recordHits(1, false);
+            } else {
+                statistics.recordMisses(1);
+            }
+        }
+        return wrapper;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        var wrapper = get(key);
+        var value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    String.format("Cached value is not of required type [%s]: %s", type.getName(), value));
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var wrapper = get(key);
+        Callable<T> timedLoader = () -> statistics.recordLoad(valueLoader);
+        if (wrapper != null) {
+            if (refreshAhead != null) {
+                var current = wrapper.get();
+                refreshAhead.maybeRefresh(localKey(key), unchanged -> {
+                    var value = timedLoader.call();
+                    if (value != null && current != null && unchanged.getAsBoolean()) {
+                        replace(key, current, value);
+                    }
+                });
+            }
+            return (T) wrapper.get();
+        }
+        var localKey = localKey(key);
+        Callable<T> load = () -> {
+            var started = System.nanoTime();
+            return loadCoordinator.load(localKey, () -> lookup(key, false), timedLoader, value -> {
+                // a value computed from a stale read elsewhere must not outlive the request that needed it
+                if (StaleReads.isServed()) {
+                    return;
+                }
+                put(key, value);
+                if (refreshAhead != null && value != null) {
+                    refreshAhead.recordWrite(localKey, key, value, System.nanoTime() - started);
+                }
+            });
+        };
+        try {
+            var stale = staleFallback != null ? staleFallback.getStale(localKey) : null;
+            return stale != null ? staleFallback.loadOrStale(localKey, stale, load) : load.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        remote.put(key, value);
+        statistics.recordPuts(1);
+        var localKey = localKey(key);
+        bumpGeneration(localKey);
+        if (local != null) {
+            if (value != null) {
+                local.put(localKey, value);
+            } else {
+                local.invalidate(localKey);
+            }
+        }
+        if (refreshAhead != null) {
+            if (value != null) {
+                refreshAhead.recordWrite(localKey, key, value, 0L);
+            } else {
+                refreshAhead.forget(localKey);
+            }
+        }
+        if (staleFallback != null) {
+            if (value != null) {
+                staleFallback.remember(localKey, value);
+            } else {
+                staleFallback.forget(localKey);
+            }
+        }
+        publisher.publishEvict(getName(), List.of(localKey));
+        evictDependents(key);
+    }
+
+    // a refresh overwrites only the value it was computed to replace, a write landing meanwhile on any node wins
+    private void replace(Object key, Object expected, Object value) {
+        if (!compareAndSet.replace(key, expected, value)) {
+            return;
+        }
+        statistics.recordPuts(1);
+        var localKey = localKey(key);
+        refreshAhead.recordWrite(localKey, key, value, 0L);
+        if (staleFallback != null) {
+            staleFallback.remember(localKey, value);
+        }
+        if (Objects.deepEquals(expected, value)) {
+            // only the expiry moved, other nodes and derived caches hold nothing to drop
+            return;
+        }
+        bumpGeneration(localKey);
+        if (local != null) {
+            local.put(localKey, value);
+        }
+        publisher.publishEvict(getName(), List.of(localKey));
+        evictDependents(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean replaceInMap(Object key, Object expected, Object value) {
+        if (remote.getNativeCache() instanceof ConcurrentMap<?, ?> map) {
+            return ((ConcurrentMap<Object, Object>) map).replace(key, expected, value);
+        }
+        // no conditional write available, the refresh overwrites like any other put
+        remote.put(key, value);
+        return true;
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        var existing = remote.putIfAbsent(key, value);
+        var localKey = localKey(key);
+        bumpGeneration(localKey);
+        if (local != null) {
+            local.invalidate(localKey);
+        }
+        if (refreshAhead != null) {
+            refreshAhead.forget(localKey);
+        }
+        if (staleFallback != null) {
+            staleFallback.forget(localKey);
+        }
+        if (existing == null) {
+            statistics.recordPuts(1);
+            publisher.publishEvict(getName(), List.of(localKey));
+            evictDependents(key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        statistics.recordEvictions(1);
+        invalidateLocalAndPublish(key);
+        evictDependents(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        var evicted = remote.evictIfPresent(key);
+        if (evicted) {
+            statistics.recordEvictions(1);
+        }
+        invalidateLocalAndPublish(key);
+        evictDependents(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        publisher.publishClear(getName());
+        getDependentCaches().forEach(TwoTierCache::clear);
+    }
+
+    @Override
+    public boolean invalidate() {
+        var invalidated = remote.invalidate();
+        clearLocal();
+        publisher.publishClear(getName());
+        getDependentCaches().forEach(TwoTierCache::invalidate);
+        return invalidated;
+    }
+
+    @Nullable
+    public Object getLocal(String key) {
+        return local != null ? local.getIfPresent(key) : null;
+    }
+
+    /**
+     * Stores entries written to the remote tier in bulk by the caller and notifies the other nodes once.
+     * Dependent caches are left to the caller, which can remove their remote entries in the same pipeline.
+     */
+    public void putAllLocalAndPublish(Map<String, ?> entries) {
+        statistics.recordPuts(entries.size());
+        entries.keySet().forEach(this::bumpGeneration);
+        if (local != null) {
+            local.putAll(entries);
+        }
+        if (refreshAhead != null) {
+            entries.forEach((key, value) -> refreshAhead.recordWrite(key, key, value, 0L));
+        }
+        if (staleFallback != null) {
+            entries.forEach(staleFallback::remember);
+        }
+        publisher.publishEvict(getName(), entries.keySet());
+    }
+
+    public void invalidateLocalAndPublish(Collection<String> keys) {
+        invalidateLocal(keys);
+        publisher.publishEvict(getName(), keys);
+    }
+
+    /**
+     * Generation of a key's near cache entry, to be read before the remote read whose value is put with it.
+     */
+    public long localGeneration(String key) {
+        return localGenerations.get(stripe(key));
+    }
+
+    /**
+     * Fills the near cache with a value read from the remote tier, unless the entry changed since
+     * {@code generation} was read: the value may predate a write or an invalidation from another node.
+     */
+    public void putLocal(String key, Object value, long generation) {
+        if (local != null) {
+            // the check and the write are atomic with the invalidation that bumps the generation before removing
+            local.asMap().compute(key, (k, current) -> localGeneration(k) == generation ? value : current);
+        }
+        if (staleFallback != null && localGeneration(key) == generation) {
+            staleFallback.remember(key, value);
+        }
+    }
+
+    public void invalidateLocal(Collection<String> keys) {
+        keys.forEach(this::bumpGeneration);
+        if (local != null) {
+            local.invalidateAll(keys);
+        }
+        if (refreshAhead != null) {
+            keys.forEach(refreshAhead::forget);
+        }
+        if (staleFallback != null) {
+            keys.forEach(staleFallback::forget);
+        }
+    }
+
+    public void clearLocal() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            localGenerations.incrementAndGet(i);
+        }
+        if (local != null) {
+            local.invalidateAll();
+        }
+        if (refreshAhead != null) {
+            refreshAhead.forgetAll();
+        }
+        if (staleFallback != null) {
+            staleFallback.forgetAll();
+        }
+    }
+
+    private void invalidateLocalAndPublish(Object key) {
+        var localKey = localKey(key);
+        bumpGeneration(localKey);
+        if (local != null) {
+            local.invalidate(localKey);
+        }
+        if (refreshAhead != null) {
+            refreshAhead.forget(localKey);
+        }
+        if (staleFallback != null) {
+            staleFallback.forget(localKey);
+        }
+        publisher.publishEvict(getName(), List.of(localKey));
+    }
+
+    private void bumpGeneration(String localKey) {
+        localGenerations.incrementAndGet(stripe(localKey));
+    }
+
+    private static int stripe(String localKey) {
+        return (localKey.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private void evictDependents(Object key) {
+        getDependentCaches().forEach(dependent -> dependent.evict(key));
+    }
+
+    // keys travel between nodes as strings, the same form the redis cache uses for its entries
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,182 @@
+package net.zeotrope.item.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import net.zeotrope.item.configurer.NearCacheProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Composite cache manager layering a per-cache in-process near cache over the caches of a remote cache manager.
+ */
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    public TwoTierCacheManager(
+            CacheManager remoteCacheManager,
+            CacheInvalidationPublisher publisher,
+            NearCacheProperties nearCacheProperties,
+            Function<String, CacheLoadCoordinator> loadCoordinators) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.publisher = publisher;
+        this.nearCacheProperties = nearCacheProperties;
+        this.loadCoordinators = loadCoordinators;
+    }
+
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationPublisher publisher;
+    private final NearCacheProperties nearCacheProperties;
+    private final Function<String, CacheLoadCoordinator> loadCoordinators;
+    private final Map<String, TwoTierCache> twoTierCaches = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> dependentCaches = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<Collection<String>>>> remoteChangeListeners = new ConcurrentHashMap<>();
+    private volatile Function<String, RefreshAhead> refreshAhead = name -> null;
+    private volatile Function<String, StaleFallback> staleFallback = name -> null;
+    private volatile Function<String, CompareAndSet> compareAndSet = name -> null;
+    private volatile MeterRegistry meterRegistry;
+    private volatile ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+    public String getNodeId() {
+        return publisher.getNodeId();
+    }
+
+    /**
+     * Registers caches keyed like {@code cacheName} whose entries are derived from it and must be evicted with it.
+     */
+    public void setDependentCaches(String cacheName, List<String> dependentCacheNames) {
+        dependentCaches.put(cacheName, List.copyOf(dependentCacheNames));
+        var cache = twoTierCaches.get(cacheName);
+        if (cache != null) {
+            cache.setDependentCaches(dependentCacheNames, this::getTwoTierCache);
+        }
+    }
+
+    /**
+     * Refresh-ahead per cache name, {@code null} for caches that only expire. Applies to caches created afterwards.
+     */
+    public void setRefreshAhead(Function<String, RefreshAhead> refreshAhead) {
+        this.refreshAhead = refreshAhead;
+    }
+
+    /**
+     * Stale-while-revalidate per cache name, {@code null} for caches that never serve stale values.
+     * Applies to caches created afterwards.
+     */
+    public void setStaleFallback(Function<String, StaleFallback> staleFallback) {
+        this.staleFallback = staleFallback;
+    }
+
+    /**
+     * Conditional remote write per cache name, {@code null} to keep the cache's default. Applies to caches created afterwards.
+     */
+    public void setCompareAndSet(Function<String, CompareAndSet> compareAndSet) {
+        this.compareAndSet = compareAndSet;
+    }
+
+    /**
+     * Registry the load timers of each cache are registered with, loads go untimed without one.
+     * Applies to caches created afterwards.
+     */
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registry cache lookups are observed with, as stages of the request they serve. Applies to caches created afterwards.
+     */
+    public void setObservationRegistry(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Notified with the keys of {@code cacheName} written or evicted by other nodes, as received over pub/sub.
+     */
+    public void addRemoteChangeListener(String cacheName, Consumer<Collection<String>> listener) {
+        remoteChangeListeners.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return remoteCacheManager.getCacheNames().stream()
+                .map(this::createCache)
+                .toList();
+    }
+
+    @Override
+    @Nullable
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    /**
+     * Undecorated two tier cache, for operations that must bypass the transaction aware decorator.
+     */
+    @Nullable
+    public TwoTierCache getTwoTierCache(String name) {
+        getCache(name);
+        return twoTierCaches.get(name);
+    }
+
+    public void invalidateLocal(String cacheName, Collection<String> keys) {
+        var cache = twoTierCaches.get(cacheName);
+        if (cache != null) {
+            cache.invalidateLocal(keys);
+        }
+        remoteChangeListeners.getOrDefault(cacheName, List.of()).forEach(listener -> listener.accept(keys));
+    }
+
+    public void clearLocal(String cacheName) {
+        var cache = twoTierCaches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+
+    @Nullable
+    private TwoTierCache createCache(String name) {
+        var remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return twoTierCaches.computeIfAbsent(name, cacheName -> {
+            var cache = new TwoTierCache(
+                    remote,
+                    createLocalCache(cacheName),
+                    publisher,
+                    loadCoordinators.apply(cacheName),
+                    refreshAhead.apply(cacheName),
+                    staleFallback.apply(cacheName),
+                    new CacheStatistics(cacheName, meterRegistry),
+                    observationRegistry
+            );
+            cache.setDependentCaches(dependentCaches.getOrDefault(cacheName, List.of()), this::getTwoTierCache);
+            var cacheCompareAndSet = compareAndSet.apply(cacheName);
+            if (cacheCompareAndSet != null) {
+                cache.setCompareAndSet(cacheCompareAndSet);
+            }
+            return cache;
+        });
+    }
+
+    @Nullable
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> createLocalCache(String name) {
+        var spec = nearCacheProperties.specFor(name);
+        if (!nearCacheProperties.enabled() || spec.maximumSize() <= 0) {
+            return null;
+        }
+        return Caffeine.newBuilder()
+                .maximumSize(spec.maximumSize())
+                .expireAfterWrite(spec.ttl())
+                .build();
+    }
+}
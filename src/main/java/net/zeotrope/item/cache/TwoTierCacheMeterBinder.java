@@ -0,0 +1,55 @@
+package net.zeotrope.item.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Publishes the statistics of a two tier cache under the common cache meter names ({@code cache.gets},
+ * {@code cache.puts}, {@code cache.evictions}, {@code cache.size}), next to the share of hits the near cache answered.
+ * Evictions count explicit removals, as for redis caches; the near cache size stands for the cache size.
+ */
+public class TwoTierCacheMeterBinder extends CacheMeterBinder<TwoTierCache> {
+
+    public TwoTierCacheMeterBinder(TwoTierCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+        this.statistics = cache.getStatistics();
+    }
+
+    private final CacheStatistics statistics;
+
+    @Override
+    protected Long size() {
+        var cache = getCache();
+        return cache != null ? cache.getLocalSize() : null;
+    }
+
+    @Override
+    protected long hitCount() {
+        return statistics.hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        return statistics.missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return statistics.evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        return statistics.putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.near.hits", statistics, CacheStatistics::nearHitCount)
+                .description("The number of hits answered by the in-process near cache")
+                .tags(getTagsWithCacheName())
+                .register(registry);
+    }
+}
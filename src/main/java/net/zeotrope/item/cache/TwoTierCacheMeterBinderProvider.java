@@ -0,0 +1,16 @@
+package net.zeotrope.item.cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+/**
+ * Lets the actuator bind the caches of the two tier cache manager, unwrapped from their transaction aware decorator.
+ */
+public class TwoTierCacheMeterBinderProvider implements CacheMeterBinderProvider<TwoTierCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(TwoTierCache cache, Iterable<Tag> tags) {
+        return new TwoTierCacheMeterBinder(cache, tags);
+    }
+}
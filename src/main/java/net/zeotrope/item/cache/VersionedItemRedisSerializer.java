@@ -0,0 +1,70 @@
+package net.zeotrope.item.cache;
+
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.jfr.SerializationEvent;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+/**
+ * Writes cached items in the configured format and reads either format, so nodes can switch format
+ * (or roll back) while entries written by the other format are still live in redis.
+ */
+public class VersionedItemRedisSerializer implements RedisSerializer<Item> {
+
+    public VersionedItemRedisSerializer(
+            CacheValueFormat writeFormat,
+            RedisSerializer<Item> jsonSerializer,
+            ItemBinaryRedisSerializer binarySerializer) {
+        this.writeFormat = writeFormat;
+        this.jsonSerializer = jsonSerializer;
+        this.binarySerializer = binarySerializer;
+    }
+
+    private final CacheValueFormat writeFormat;
+    private final RedisSerializer<Item> jsonSerializer;
+    private final ItemBinaryRedisSerializer binarySerializer;
+
+    @Override
+    public byte[] serialize(@Nullable Item item) throws SerializationException {
+        var event = new SerializationEvent();
+        event.begin();
+        var bytes = switch (writeFormat) {
+            case JSON -> jsonSerializer.serialize(item);
+            case BINARY -> binarySerializer.serialize(item);
+        };
+        commit(event, "serialize", writeFormat, bytes);
+        return bytes;
+    }
+
+    @Override
+    @Nullable
+    public Item deserialize(@Nullable byte[] bytes) throws SerializationException {
+        var event = new SerializationEvent();
+        event.begin();
+        if (ItemBinaryRedisSerializer.isBinary(bytes)) {
+            var item = binarySerializer.deserialize(bytes);
+            commit(event, "deserialize", CacheValueFormat.BINARY, bytes);
+            return item;
+        }
+        var item = jsonSerializer.deserialize(bytes);
+        commit(event, "deserialize", CacheValueFormat.JSON, bytes);
+        return item;
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return Item.class;
+    }
+
+    private static void commit(SerializationEvent event, String operation, CacheValueFormat format, @Nullable byte[] bytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.target = "cache";
+            event.operation = operation;
+            event.format = format.name();
+            event.size = bytes != null ? bytes.length : 0L;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package net.zeotrope.item.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Caches query results as lists of ids under a namespace-wide version number held in redis.
+ * Any write that may change list membership bumps the version, which orphans every cached list
+ * in O(1); orphaned entries simply expire.
+ */
+public class VersionedListCache {
+    public static final Logger LOGGER = LoggerFactory.getLogger(VersionedListCache.class);
+
+    // version and page in one round trip, the page key embeds the version read
+    private static final RedisScript<List> LOOKUP_SCRIPT = new DefaultRedisScript<>("""
+            local version = redis.call('get', KEYS[1]) or '0'
+            return {version, redis.call('get', ARGV[1] .. version .. ':' .. ARGV[2])}
+            """, List.class);
+
+    private static final RedisScript<String> VERSION_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('set', KEYS[1], ARGV[1], 'NX')
+            return redis.call('get', KEYS[1])
+            """, String.class);
+
+    // a lost counter is seeded from the clock before the bump, like a first read of it
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('set', KEYS[1], ARGV[1], 'NX')
+            return redis.call('incr', KEYS[1])
+            """, Long.class);
+
+    public VersionedListCache(
+            StringRedisTemplate redisTemplate,
+            String namespace,
+            Duration ttl,
+            CircuitBreaker circuitBreaker) {
+        this.redisTemplate = redisTemplate;
+        this.namespace = namespace;
+        this.ttl = ttl;
+        this.circuitBreaker = circuitBreaker;
+        // a version bump skipped during an outage is applied once redis is back, so lists cached before it are dropped
+        circuitBreaker.addStateListener(state -> {
+            if (state == CircuitBreaker.State.CLOSED && pendingInvalidation.getAndSet(false)) {
+                invalidate();
+            }
+        });
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final String namespace;
+    private final Duration ttl;
+    private final CircuitBreaker circuitBreaker;
+    private final AtomicBoolean pendingInvalidation = new AtomicBoolean();
+
+    public record CachedList(List<Long> ids, @Nullable String nextCursor) {}
+
+    public record Lookup(long version, @Nullable CachedList list) {
+        public boolean isHit() {
+            return list != null;
+        }
+    }
+
+    public Lookup lookup(String listKey) {
+        if (pendingInvalidation.getAndSet(false)) {
+            invalidate();
+        }
+        if (pendingInvalidation.get()) {
+            // lists cached under the current version may predate a write
+            return new Lookup(-1L, null);
+        }
+        try {
+            var result = circuitBreaker.call(
+                    () -> CacheOperationRecorder.record(namespace, "lookupList", 1,
+                            () -> redisTemplate.execute(LOOKUP_SCRIPT, List.of(versionKey()), listKeyPrefix(), listKey)),
+                    () -> null
+            );
+            if (result == null) {
+                return new Lookup(-1L, null);
+            }
+            if (result.isEmpty()) {
+                return new Lookup(0L, null);
+            }
+            var version = Long.parseLong(String.valueOf(result.get(0)));
+            var value = result.size() > 1 ? result.get(1) : null;
+            return new Lookup(version, value != null ? decode(String.valueOf(value)) : null);
+        } catch (RuntimeException e) {
+            // an unknown version can never match a stored list, so the caller loads and skips the write back
+            LOGGER.warn("Failed to look up cached list {} in {}", listKey, namespace, e);
+            return new Lookup(-1L, null);
+        }
+    }
+
+    /**
+     * The version lists are currently cached under, or -1 while it cannot be known. A missing counter is first seeded
+     * from the clock, here and when it is bumped, so versions handed out as validators never repeat after redis loses
+     * the key.
+     */
+    public long currentVersion() {
+        if (pendingInvalidation.get()) {
+            return -1L;
+        }
+        try {
+            var version = circuitBreaker.call(
+                    () -> CacheOperationRecorder.record(namespace, "listVersion", 1, () -> redisTemplate.execute(
+                            VERSION_SCRIPT, List.of(versionKey()), String.valueOf(System.currentTimeMillis()))),
+                    () -> null
+            );
+            return version != null ? Long.parseLong(version) : -1L;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to read the list version of {}", namespace, e);
+            return -1L;
+        }
+    }
+
+    public void put(long version, String listKey, CachedList list) {
+        if (version < 0) {
+            return;
+        }
+        try {
+            circuitBreaker.run(
+                    () -> CacheOperationRecorder.record(namespace, "putList", 1,
+                            () -> redisTemplate.opsForValue().set(listKeyPrefix() + version + ":" + listKey, encode(list), ttl)),
+                    () -> {}
+            );
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to cache list {} in {}", listKey, namespace, e);
+        }
+    }
+
+    public void invalidate() {
+        circuitBreaker.run(
+                () -> CacheOperationRecorder.record(namespace, "invalidateLists", 1,
+                        () -> redisTemplate.execute(
+                                INVALIDATE_SCRIPT, List.of(versionKey()), String.valueOf(System.currentTimeMillis()))),
+                () -> pendingInvalidation.set(true)
+        );
+    }
+
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    private String versionKey() {
+        return namespace + "-list:version";
+    }
+
+    private String listKeyPrefix() {
+        return namespace + "-list::v";
+    }
+
+    private static String encode(CachedList list) {
+        var ids = list.ids().stream().map(String::valueOf).collect(Collectors.joining(","));
+        return (list.nextCursor() != null ? list.nextCursor() : "") + "\n" + ids;
+    }
+
+    private static CachedList decode(String value) {
+        var separator = value.indexOf('\n');
+        var nextCursor = value.substring(0, separator);
+        var ids = value.substring(separator + 1);
+        return new CachedList(
+                ids.isEmpty() ? List.of() : Arrays.stream(ids.split(",")).map(Long::valueOf).toList(),
+                nextCursor.isEmpty() ? null : nextCursor
+        );
+    }
+}
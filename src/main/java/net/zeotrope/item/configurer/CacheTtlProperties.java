@@ -0,0 +1,40 @@
+package net.zeotrope.item.configurer;
+
+import net.zeotrope.item.domain.ItemStatus;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "cache.ttl")
+public record CacheTtlProperties(
+        // fraction by which every ttl is varied, so entries written together do not expire together
+        @DefaultValue("0.1") double jitter,
+        @DefaultValue TtlSpec defaults,
+        Map<String, TtlSpec> caches
+) {
+    /**
+     * TTL for entries of one cache: a flat {@code ttl}, optionally refined per item status, and raised to
+     * {@code stableTtl} for items left unmodified for longer than {@code stableAfter}. Unset durations fall back
+     * to {@code cache.redis.ttl}.
+     */
+    public record TtlSpec(
+            @Nullable Duration ttl,
+            Map<ItemStatus, Duration> status,
+            @Nullable Duration stableAfter,
+            @Nullable Duration stableTtl
+    ) {
+        public TtlSpec {
+            status = status != null ? Map.copyOf(status) : Map.of();
+        }
+    }
+
+    public TtlSpec specFor(String cacheName) {
+        if (caches != null && caches.containsKey(cacheName)) {
+            return caches.get(cacheName);
+        }
+        return defaults;
+    }
+}
@@ -0,0 +1,28 @@
+package net.zeotrope.item.configurer;
+
+import net.zeotrope.item.service.ItemCacheWarmupService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reported as {@code cacheWarmup} and included in the readiness group: out of service while the item cache is warming up.
+ */
+@Component
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    public CacheWarmupHealthIndicator(ItemCacheWarmupService warmupService) {
+        this.warmupService = warmupService;
+    }
+
+    private final ItemCacheWarmupService warmupService;
+
+    @Override
+    public Health health() {
+        var builder = warmupService.isFinished() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("state", warmupService.getState())
+                .withDetail("items", warmupService.getWarmedItems())
+                .build();
+    }
+}
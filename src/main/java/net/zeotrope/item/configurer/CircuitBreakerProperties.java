@@ -0,0 +1,18 @@
+package net.zeotrope.item.configurer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "cache.redis.circuit-breaker")
+public record CircuitBreakerProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50") int windowSize,
+        @DefaultValue("20") int minimumCalls,
+        @DefaultValue("0.5") double failureRateThreshold,
+        @DefaultValue("250ms") Duration slowCallThreshold,
+        @DefaultValue("5s") Duration openDuration,
+        @DefaultValue("5") int halfOpenProbes,
+        @DefaultValue("10000") int maximumSkippedKeys
+) {}
@@ -0,0 +1,26 @@
+package net.zeotrope.item.configurer;
+
+import net.zeotrope.item.jfr.ContinuousRecording;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.text.ParseException;
+
+/**
+ * Flight recorder events of the item service (net.zeotrope.item.*) and the continuous recording that keeps them.
+ * Cache and serialization events are emitted by the cache classes themselves, see {@link RedisCacheConfig}, repository
+ * call events by the {@link RepositoryInstrumentationPostProcessor}.
+ */
+@Configuration
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+public class FlightRecorderConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "jfr.recording", name = "enabled", havingValue = "true")
+    public ContinuousRecording continuousRecording(FlightRecorderProperties properties) throws IOException, ParseException {
+        return new ContinuousRecording(properties.maxAge(), properties.maxSize().toBytes(), properties.destination());
+    }
+}
@@ -0,0 +1,16 @@
+package net.zeotrope.item.configurer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "jfr.recording")
+public record FlightRecorderProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("6h") Duration maxAge,
+        @DefaultValue("250MB") DataSize maxSize,
+        @DefaultValue("recordings/item-service.jfr") Path destination
+) {}
@@ -0,0 +1,35 @@
+package net.zeotrope.item.configurer;
+
+import io.lettuce.core.metrics.MicrometerOptions;
+import net.zeotrope.item.cache.TwoTierCacheMeterBinderProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Meters beyond the actuator defaults, all scraped from /prometheus: per-cache traffic of the two tier caches and
+ * redis command latencies. Cache loads, value sizes and repository calls are metered where they happen
+ * (see {@link RedisCacheConfig} and {@code management.metrics.data.repository}).
+ */
+@Configuration
+public class MetricsConfig {
+
+    // cache.gets, cache.puts, cache.evictions and cache.size of every two tier cache, tagged by cache
+    @Bean
+    public TwoTierCacheMeterBinderProvider twoTierCacheMeterBinderProvider() {
+        return new TwoTierCacheMeterBinderProvider();
+    }
+
+    // Latency histograms per redis command, picked up by the actuator's lettuce metrics instead of its defaults
+    @Bean
+    public MicrometerOptions lettuceMicrometerOptions() {
+        return MicrometerOptions.builder()
+                .histogram(true)
+                // per connection tags would multiply the series by the size of the pool
+                .localDistinction(false)
+                .minLatency(Duration.ofNanos(100_000))
+                .maxLatency(Duration.ofSeconds(5))
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package net.zeotrope.item.configurer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "cache.near")
+public record NearCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("items:cache-invalidation") String channel,
+        @DefaultValue NearCacheSpec defaults,
+        Map<String, NearCacheSpec> caches
+) {
+    public record NearCacheSpec(
+            @DefaultValue("10000") long maximumSize,
+            @DefaultValue("30s") Duration ttl
+    ) {}
+
+    // per-cache settings fall back to the defaults, a maximum size of 0 disables the near cache
+    public NearCacheSpec specFor(String cacheName) {
+        if (caches != null && caches.containsKey(cacheName)) {
+            return caches.get(cacheName);
+        }
+        return defaults;
+    }
+}
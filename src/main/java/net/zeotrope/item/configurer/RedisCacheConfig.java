@@ -2,37 +2,130 @@ package net.zeotrope.item.configurer;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import net.zeotrope.item.cache.BatchCacheOperations;
+import net.zeotrope.item.cache.CacheInvalidationListener;
+import net.zeotrope.item.cache.CacheLoadCoordinator;
+import net.zeotrope.item.cache.CacheValueFormat;
+import net.zeotrope.item.cache.CircuitBreaker;
+import net.zeotrope.item.cache.CircuitBreakingRedisCacheWriter;
+import net.zeotrope.item.cache.FlightRecordingRedisCacheWriter;
+import net.zeotrope.item.cache.ItemBinaryRedisSerializer;
+import net.zeotrope.item.cache.ItemJsonRedisSerializer;
+import net.zeotrope.item.cache.ItemTtlPolicy;
+import net.zeotrope.item.cache.JitteredTtlFunction;
+import net.zeotrope.item.cache.MeteredRedisSerializer;
+import net.zeotrope.item.cache.RedisCompareAndSet;
+import net.zeotrope.item.cache.RefreshAhead;
+import net.zeotrope.item.cache.StaleFallback;
+import net.zeotrope.item.cache.CacheInvalidationPublisher;
+import net.zeotrope.item.cache.TwoTierCacheManager;
+import net.zeotrope.item.cache.VersionedItemRedisSerializer;
+import net.zeotrope.item.cache.VersionedListCache;
 import net.zeotrope.item.domain.Item;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Configuration
 @EnableRedisRepositories
+@EnableConfigurationProperties({NearCacheProperties.class, SingleFlightProperties.class, CacheTtlProperties.class,
+        RefreshAheadProperties.class, StaleWhileRevalidateProperties.class, CircuitBreakerProperties.class})
 public class RedisCacheConfig {
+    public static final String ITEMS_CACHE = "items";
+    public static final String ITEMS_JSON_CACHE = "items-json";
+    public static final String ITEMS_MISSING_CACHE = "items-missing";
+    public static final String ITEMS_VERSION_CACHE = "items-version";
+
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
 
     @Value("${cache.redis.ttl:600}")
     private Long cacheTtl;
 
-    @Bean
-    public RedisCacheManager redisCacheManager(
-            RedisConnectionFactory connectionFactory,
-            ObjectMapper redisObjectMapper) {
+    @Value("${cache.redis.serializer:JSON}")
+    private CacheValueFormat cacheValueFormat;
+
+    @Value("${cache.list.ttl:60s}")
+    private Duration listCacheTtl;
 
+    // Writes the configured format and reads both, so the format can be switched on a live cache
+    @Bean
+    public RedisSerializer<Item> itemValueSerializer(ObjectMapper redisObjectMapper) {
         // Jackson serializer with custom ObjectMapper
-        Jackson2JsonRedisSerializer<Item> valueSerializer =
+        Jackson2JsonRedisSerializer<Item> jsonSerializer =
                 new Jackson2JsonRedisSerializer<>(redisObjectMapper,  Item.class);
+        return new VersionedItemRedisSerializer(cacheValueFormat, jsonSerializer, new ItemBinaryRedisSerializer());
+    }
+
+    // Trips on redis errors or slow calls, the cache then degrades to the near cache and the database
+    @Bean
+    public CircuitBreaker redisCircuitBreaker(CircuitBreakerProperties properties) {
+        if (!properties.enabled()) {
+            return CircuitBreaker.disabled("redis");
+        }
+        return new CircuitBreaker(
+                "redis",
+                properties.windowSize(),
+                properties.minimumCalls(),
+                properties.failureRateThreshold(),
+                properties.slowCallThreshold(),
+                properties.openDuration(),
+                properties.halfOpenProbes(),
+                System::nanoTime
+        );
+    }
+
+    @Bean
+    public CircuitBreakingRedisCacheWriter redisCacheWriter(
+            RedisConnectionFactory connectionFactory,
+            CircuitBreaker redisCircuitBreaker,
+            CircuitBreakerProperties properties) {
+        // flight recorder events time the redis calls actually made, not those the breaker skips;
+        // clearing a cache scans its keys in batches rather than blocking redis with KEYS
+        return new CircuitBreakingRedisCacheWriter(
+                new FlightRecordingRedisCacheWriter(RedisCacheWriter.nonLockingRedisCacheWriter(
+                        connectionFactory,
+                        BatchStrategies.scan(1000)
+                )),
+                redisCircuitBreaker,
+                properties.maximumSkippedKeys()
+        );
+    }
+
+    @Bean
+    public RedisCacheManager redisCacheManager(
+            CircuitBreakingRedisCacheWriter redisCacheWriter,
+            RedisSerializer<Item> itemValueSerializer,
+            CacheTtlProperties cacheTtlProperties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        var registry = meterRegistry.getIfAvailable();
+
         RedisCacheConfiguration defaultConfig =
                 RedisCacheConfiguration.defaultCacheConfig()
                         .entryTtl(Duration.ofSeconds(cacheTtl))
@@ -42,15 +135,160 @@ public class RedisCacheConfig {
                                         .fromSerializer(new StringRedisSerializer()))
                         .serializeValuesWith(
                                 RedisSerializationContext.SerializationPair
-                                        .fromSerializer(valueSerializer));
+                                        .fromSerializer(metered(itemValueSerializer, ITEMS_CACHE, registry)));
 
-        // Per-cache TTL configuration
+        // Per-cache TTL configuration, chosen per entry from the cached item
         Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
+        cacheConfigs.put(ITEMS_CACHE, defaultConfig.entryTtl(ttlPolicy(cacheTtlProperties, ITEMS_CACHE)));
+        // Rendered response bodies, served as raw bytes with the validators stored next to them
+        cacheConfigs.put(ITEMS_JSON_CACHE, defaultConfig
+                .entryTtl(ttlPolicy(cacheTtlProperties, ITEMS_JSON_CACHE))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(metered(new ItemJsonRedisSerializer(), ITEMS_JSON_CACHE, registry))));
+        // Negative entries for ids known not to exist, kept short so a missed eviction heals quickly
+        cacheConfigs.put(ITEMS_MISSING_CACHE, defaultConfig
+                .entryTtl(ttlPolicy(cacheTtlProperties, ITEMS_MISSING_CACHE))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.byteArray()));
+        // Modification times for conditional requests, kept as plain numbers
+        cacheConfigs.put(ITEMS_VERSION_CACHE, defaultConfig
+                .entryTtl(ttlPolicy(cacheTtlProperties, ITEMS_VERSION_CACHE))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new GenericToStringSerializer<>(Long.class))));
 
-        return RedisCacheManager.builder(connectionFactory)
+        return RedisCacheManager.builder(redisCacheWriter)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigs)
-                .transactionAware()
                 .build();
     }
+
+    // Loads handed to a virtual thread stay part of the trace (and logging context) of the request that started them
+    private static Runnable withContext(Runnable task) {
+        return CONTEXT_SNAPSHOTS.captureAll().wrap(task);
+    }
+
+    // Encoded sizes and encoding cost of the values that make up most of the cached bytes
+    private static <T> RedisSerializer<T> metered(RedisSerializer<T> serializer, String cacheName, MeterRegistry registry) {
+        return registry != null ? new MeteredRedisSerializer<>(serializer, cacheName, registry) : serializer;
+    }
+
+    private RedisCacheWriter.TtlFunction ttlPolicy(CacheTtlProperties cacheTtlProperties, String cacheName) {
+        var spec = cacheTtlProperties.specFor(cacheName);
+        var fallbackTtl = Duration.ofSeconds(cacheTtl);
+        var policy = new ItemTtlPolicy(
+                spec.ttl() != null ? spec.ttl() : fallbackTtl,
+                spec.status(),
+                spec.stableAfter(),
+                spec.stableTtl(),
+                Clock.systemDefaultZone()
+        );
+        return new JitteredTtlFunction(policy, cacheTtlProperties.jitter());
+    }
+
+    // Near cache in front of redis, transaction awareness is applied here so both tiers are written after commit
+    @Bean
+    @Primary
+    public TwoTierCacheManager cacheManager(
+            RedisCacheManager redisCacheManager,
+            StringRedisTemplate stringRedisTemplate,
+            NearCacheProperties nearCacheProperties,
+            SingleFlightProperties singleFlightProperties,
+            RefreshAheadProperties refreshAheadProperties,
+            StaleWhileRevalidateProperties staleWhileRevalidateProperties,
+            RedisConnectionFactory connectionFactory,
+            CircuitBreakingRedisCacheWriter redisCacheWriter,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        var nodeId = UUID.randomUUID().toString();
+        // Redis calls outside the cache writer trip and skip the same breaker
+        var circuitBreaker = redisCacheWriter.getCircuitBreaker();
+        var publisher = new CacheInvalidationPublisher(
+                stringRedisTemplate,
+                circuitBreaker,
+                nearCacheProperties.channel(),
+                nodeId
+        );
+        // Per-cache miss coalescing, optionally with a cross-node redis lease
+        var cacheManager = new TwoTierCacheManager(
+                redisCacheManager,
+                publisher,
+                nearCacheProperties,
+                cacheName -> CacheLoadCoordinator.create(
+                        cacheName,
+                        singleFlightProperties.specFor(cacheName),
+                        stringRedisTemplate,
+                        circuitBreaker,
+                        nodeId
+                )
+        );
+        // Early background reloads of hot entries, timed against the same (jittered) ttl the entry was written with
+        cacheManager.setRefreshAhead(cacheName -> {
+            var spec = refreshAheadProperties.specFor(cacheName);
+            var redisConfig = redisCacheManager.getCacheConfigurations().get(cacheName);
+            if (!spec.enabled() || redisConfig == null) {
+                return null;
+            }
+            return new RefreshAhead(
+                    redisConfig.getTtlFunction(),
+                    spec.beta(),
+                    spec.maximumTrackedKeys(),
+                    task -> Thread.ofVirtual().name("cache-refresh-" + cacheName).start(withContext(task)),
+                    System::nanoTime
+            );
+        });
+        // Refreshed values written only over the bytes they were loaded to replace
+        cacheManager.setCompareAndSet(cacheName -> {
+            var redisConfig = redisCacheManager.getCacheConfigurations().get(cacheName);
+            if (redisConfig == null) {
+                return null;
+            }
+            return new RedisCompareAndSet(cacheName, redisConfig, connectionFactory, circuitBreaker);
+        });
+        // Last known values kept past expiry, served when the database is slow or down
+        cacheManager.setStaleFallback(cacheName -> {
+            var spec = staleWhileRevalidateProperties.specFor(cacheName);
+            if (!spec.enabled()) {
+                return null;
+            }
+            return new StaleFallback(
+                    spec.grace(),
+                    spec.maximumSize(),
+                    spec.latencyBudget(),
+                    task -> Thread.ofVirtual().name("cache-load-" + cacheName).start(withContext(task))
+            );
+        });
+        // Load latency per cache, the hit, miss, put and eviction counts are bound by the actuator
+        meterRegistry.ifAvailable(cacheManager::setMeterRegistry);
+        // Lookups as stages of the request trace and its Server-Timing header
+        observationRegistry.ifAvailable(cacheManager::setObservationRegistry);
+        cacheManager.setTransactionAware(true);
+        cacheManager.setDependentCaches(ITEMS_CACHE, List.of(ITEMS_JSON_CACHE, ITEMS_MISSING_CACHE, ITEMS_VERSION_CACHE));
+        return cacheManager;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoTierCacheManager cacheManager,
+            NearCacheProperties nearCacheProperties) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                new CacheInvalidationListener(cacheManager),
+                new ChannelTopic(nearCacheProperties.channel()));
+        return container;
+    }
+
+    @Bean
+    public BatchCacheOperations batchCacheOperations(
+            TwoTierCacheManager cacheManager,
+            RedisConnectionFactory connectionFactory,
+            CircuitBreakingRedisCacheWriter redisCacheWriter) {
+        return new BatchCacheOperations(cacheManager, connectionFactory, redisCacheWriter);
+    }
+
+    // Item pages as id lists, invalidated wholesale by bumping the list version on writes
+    @Bean
+    public VersionedListCache itemListCache(StringRedisTemplate stringRedisTemplate, CircuitBreaker redisCircuitBreaker) {
+        return new VersionedListCache(stringRedisTemplate, ITEMS_CACHE, listCacheTtl, redisCircuitBreaker);
+    }
 }
@@ -0,0 +1,31 @@
+package net.zeotrope.item.configurer;
+
+import net.zeotrope.item.cache.CircuitBreaker;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reported as {@code redisCircuitBreaker}: DEGRADED while redis is bypassed, the API keeps serving from the near cache and the database.
+ */
+@Component
+public class RedisCircuitBreakerHealthIndicator implements HealthIndicator {
+    public static final Status DEGRADED = new Status("DEGRADED", "Redis is bypassed by its circuit breaker");
+
+    public RedisCircuitBreakerHealthIndicator(CircuitBreaker redisCircuitBreaker) {
+        this.redisCircuitBreaker = redisCircuitBreaker;
+    }
+
+    private final CircuitBreaker redisCircuitBreaker;
+
+    @Override
+    public Health health() {
+        var state = redisCircuitBreaker.getState();
+        var builder = switch (state) {
+            case CLOSED, DISABLED -> Health.up();
+            case OPEN, HALF_OPEN -> Health.status(DEGRADED);
+        };
+        return builder.withDetail("state", state).build();
+    }
+}
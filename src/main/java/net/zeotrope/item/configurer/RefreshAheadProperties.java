@@ -0,0 +1,26 @@
+package net.zeotrope.item.configurer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "cache.refresh-ahead")
+public record RefreshAheadProperties(
+        @DefaultValue RefreshAheadSpec defaults,
+        Map<String, RefreshAheadSpec> caches
+) {
+    // beta above 1 refreshes earlier, below 1 later
+    public record RefreshAheadSpec(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("1.0") double beta,
+            @DefaultValue("50000") long maximumTrackedKeys
+    ) {}
+
+    public RefreshAheadSpec specFor(String cacheName) {
+        if (caches != null && caches.containsKey(cacheName)) {
+            return caches.get(cacheName);
+        }
+        return defaults;
+    }
+}
@@ -0,0 +1,36 @@
+package net.zeotrope.item.configurer;
+
+import io.micrometer.observation.ObservationRegistry;
+import net.zeotrope.item.jfr.RepositoryCallInterceptor;
+import net.zeotrope.item.tracing.RepositoryObservationInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Adds a {@link RepositoryObservationInterceptor} and a {@link RepositoryCallInterceptor} to the proxy of every
+ * Spring Data repository, before its factory bean creates it. The registry is looked up on first use, post processors
+ * are created before it exists.
+ */
+public class RepositoryInstrumentationPostProcessor implements BeanPostProcessor {
+
+    public RepositoryInstrumentationPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.observationRegistry = SingletonSupplier.of(() -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+    }
+
+    private final SingletonSupplier<ObservationRegistry> observationRegistry;
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> {
+                        var repositoryInterface = repositoryInformation.getRepositoryInterface();
+                        proxyFactory.addAdvice(new RepositoryObservationInterceptor(repositoryInterface, observationRegistry));
+                        proxyFactory.addAdvice(new RepositoryCallInterceptor(repositoryInterface));
+                    }));
+        }
+        return bean;
+    }
+}
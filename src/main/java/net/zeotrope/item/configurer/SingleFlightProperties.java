@@ -0,0 +1,28 @@
+package net.zeotrope.item.configurer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "cache.single-flight")
+public record SingleFlightProperties(
+        @DefaultValue SingleFlightSpec defaults,
+        Map<String, SingleFlightSpec> caches
+) {
+    public record SingleFlightSpec(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("false") boolean leaseEnabled,
+            @DefaultValue("5s") Duration leaseTtl,
+            @DefaultValue("2s") Duration leaseWait,
+            @DefaultValue("20ms") Duration pollInterval
+    ) {}
+
+    public SingleFlightSpec specFor(String cacheName) {
+        if (caches != null && caches.containsKey(cacheName)) {
+            return caches.get(cacheName);
+        }
+        return defaults;
+    }
+}
@@ -0,0 +1,28 @@
+package net.zeotrope.item.configurer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "cache.stale-while-revalidate")
+public record StaleWhileRevalidateProperties(
+        @DefaultValue StaleSpec defaults,
+        Map<String, StaleSpec> caches
+) {
+    // grace is how long a value may be served after it was last written or read, the budget how long a miss may wait for the database
+    public record StaleSpec(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("10m") Duration grace,
+            @DefaultValue("50000") long maximumSize,
+            @DefaultValue("250ms") Duration latencyBudget
+    ) {}
+
+    public StaleSpec specFor(String cacheName) {
+        if (caches != null && caches.containsKey(cacheName)) {
+            return caches.get(cacheName);
+        }
+        return defaults;
+    }
+}
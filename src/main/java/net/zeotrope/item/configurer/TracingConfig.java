@@ -0,0 +1,62 @@
+package net.zeotrope.item.configurer;
+
+import io.micrometer.observation.ObservationRegistry;
+import net.zeotrope.item.tracing.JsonFileSpanExporter;
+import net.zeotrope.item.tracing.ServerTimingFilter;
+import net.zeotrope.item.tracing.ServerTimingObservationHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Request latency broken down by stage: the HTTP request, item service methods ({@code @Observed}), cache lookups,
+ * repository calls and response rendering are observed as spans of one trace, exported to a local file and summed
+ * up per request in a Server-Timing header.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public ServerTimingObservationHandler serverTimingObservationHandler() {
+        return new ServerTimingObservationHandler();
+    }
+
+    // Right inside the actuator's observation filter (HIGHEST_PRECEDENCE + 1), which starts the request's timings
+    @Bean
+    @ConditionalOnProperty(prefix = "tracing.server-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        var registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    // static, so that repository factory beans are post processed however early they are created
+    @Bean
+    public static RepositoryInstrumentationPostProcessor repositoryInstrumentationPostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new RepositoryInstrumentationPostProcessor(observationRegistry);
+    }
+
+    // Sampled spans, picked up by the actuator's OpenTelemetry span processor, no collector needed
+    @Bean
+    @ConditionalOnProperty(prefix = "tracing.export.file", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public JsonFileSpanExporter jsonFileSpanExporter(
+            @Value("${tracing.export.file.path:traces/spans.jsonl}") Path path,
+            @Value("${tracing.export.file.max-size:100MB}") DataSize maxSize) {
+        return new JsonFileSpanExporter(path, maxSize.toBytes());
+    }
+
+    // Work handed to the application task executor (async exports among it) stays part of the request's trace
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
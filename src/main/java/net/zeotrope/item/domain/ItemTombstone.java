@@ -0,0 +1,28 @@
+package net.zeotrope.item.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker of a deleted item, written by a trigger on the items table and purged after the retention period.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Getter
+@Entity
+@Table(name = "item_tombstones")
+public class ItemTombstone {
+    @Id
+    private Long id;
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+}
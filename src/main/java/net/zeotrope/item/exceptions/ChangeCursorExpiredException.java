@@ -0,0 +1,7 @@
+package net.zeotrope.item.exceptions;
+
+public class ChangeCursorExpiredException extends RuntimeException {
+    public ChangeCursorExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package net.zeotrope.item.exceptions;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
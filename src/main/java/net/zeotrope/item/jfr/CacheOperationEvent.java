@@ -0,0 +1,45 @@
+package net.zeotrope.item.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One redis round trip of a cache: the time spent in redis for a get, put or evict, separate from loads and decoding.
+ * Pipelines and scripts covering several entries are one event each, with their key count instead of a key.
+ */
+@Name("net.zeotrope.item.CacheOperation")
+@Label("Cache Operation")
+@Description("A get, put or evict of a cache entry in redis")
+@Category({"Item Service", "Cache"})
+@StackTrace(false)
+public class CacheOperationEvent extends jdk.jfr.Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Key")
+    public String key;
+
+    @Label("Key Count")
+    @Description("Entries the round trip covered, 1 for a single key call")
+    public int keyCount;
+
+    @Label("Hit")
+    @Description("Whether a get found the entry, or a put if absent found one already")
+    public boolean hit;
+
+    @Label("Value Size")
+    @DataAmount
+    public long valueSize;
+
+    @Label("Exception")
+    @Description("Class of the exception the call failed with, if any")
+    public String exception;
+}
@@ -0,0 +1,74 @@
+package net.zeotrope.item.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+
+/**
+ * An always-on flight recording kept in a bounded ring of recent history, so a latency spike can be explained after
+ * the fact with {@code jcmd <pid> JFR.dump name=item-service}. Runs the JDK's low overhead {@code default} settings
+ * with the item service's own events layered on top, and dumps to the destination when the application stops.
+ */
+public class ContinuousRecording implements AutoCloseable {
+    public static final Logger LOGGER = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    public static final String NAME = "item-service";
+    public static final String SETTINGS_RESOURCE = "/jfr/item-service.jfc";
+
+    public ContinuousRecording(Duration maxAge, long maxSizeBytes, Path destination) throws IOException, ParseException {
+        var settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (Reader reader = new InputStreamReader(settingsResource(), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+        this.recording = new Recording(settings);
+        this.destination = destination;
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        recording.setDumpOnExit(true);
+        var parent = destination.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        recording.setDestination(destination);
+    }
+
+    private final Recording recording;
+    private final Path destination;
+
+    public void start() {
+        recording.start();
+        LOGGER.info("Flight recording {} started, dumped to {} on exit", NAME, destination.toAbsolutePath());
+    }
+
+    @Override
+    public void close() {
+        // stopping a recording with a destination writes it out
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.close();
+    }
+
+    private static InputStream settingsResource() throws IOException {
+        var stream = ContinuousRecording.class.getResourceAsStream(SETTINGS_RESOURCE);
+        if (stream == null) {
+            throw new IOException(String.format("Flight recorder settings %s not found", SETTINGS_RESOURCE));
+        }
+        return stream;
+    }
+}
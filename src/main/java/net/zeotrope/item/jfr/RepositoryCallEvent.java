@@ -0,0 +1,28 @@
+package net.zeotrope.item.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call of a Spring Data repository method, covering the query and the mapping of its results.
+ */
+@Name("net.zeotrope.item.RepositoryCall")
+@Label("Repository Call")
+@Description("A call of a repository method, including the database round trips it made")
+@Category({"Item Service", "Database"})
+@StackTrace(false)
+public class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Exception")
+    @Description("Class of the exception the call failed with, if any")
+    public String exception;
+}
@@ -0,0 +1,38 @@
+package net.zeotrope.item.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Wraps every call of one repository in a {@link RepositoryCallEvent}. Methods returning a stream are timed until
+ * the stream is opened, reading it is left to the caller's own events.
+ */
+public class RepositoryCallInterceptor implements MethodInterceptor {
+
+    public RepositoryCallInterceptor(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    private final String repository;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var event = new RepositoryCallEvent();
+        event.begin();
+        Throwable failure = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                event.exception = failure != null ? failure.getClass().getName() : null;
+                event.commit();
+            }
+        }
+    }
+}
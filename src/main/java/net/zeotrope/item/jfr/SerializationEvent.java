@@ -0,0 +1,33 @@
+package net.zeotrope.item.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Encoding or decoding of an item, as a cached value or as a response body.
+ */
+@Name("net.zeotrope.item.Serialization")
+@Label("Serialization")
+@Description("An item encoded or decoded as a cached value or a response body")
+@Category({"Item Service", "Serialization"})
+@StackTrace(false)
+public class SerializationEvent extends jdk.jfr.Event {
+
+    @Label("Target")
+    @Description("What the bytes are for: a cache value or a response body")
+    public String target;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Format")
+    public String format;
+
+    @Label("Size")
+    @DataAmount
+    public long size;
+}
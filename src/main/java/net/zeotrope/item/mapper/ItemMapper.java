@@ -10,8 +10,11 @@ public class ItemMapper {
     private ItemMapper(){}
 
     public static Item toNewItem(ItemDto itemDto) {
-        var dateTime = LocalDateTime.now();
+        return toNewItem(itemDto, LocalDateTime.now());
+    }
 
+    // services pass the database time, so stamps agree with those written in sql by bulk updates and tombstones
+    public static Item toNewItem(ItemDto itemDto, LocalDateTime dateTime) {
         return new Item (
                 null,
                 itemDto.status(),
@@ -24,7 +27,10 @@ public class ItemMapper {
     }
 
     public static Item toUpdateItem(ItemDto item, Item oldItemState){
-        var modifiedDateTime = LocalDateTime.now();
+        return toUpdateItem(item, oldItemState, LocalDateTime.now());
+    }
+
+    public static Item toUpdateItem(ItemDto item, Item oldItemState, LocalDateTime modifiedDateTime){
         var discontinued = (item.status() == ItemStatus.DISCONTINUED && oldItemState.getStatus() != ItemStatus.DISCONTINUED)
                 ? modifiedDateTime : null;
 
@@ -40,7 +46,10 @@ public class ItemMapper {
     }
 
     public static Item toUpdateItemStatus(Item item, ItemStatus status){
-        var modifiedDateTime = LocalDateTime.now();
+        return toUpdateItemStatus(item, status, LocalDateTime.now());
+    }
+
+    public static Item toUpdateItemStatus(Item item, ItemStatus status, LocalDateTime modifiedDateTime){
         return new Item(
                 item.getId(),
                 status,
@@ -0,0 +1,14 @@
+package net.zeotrope.item.model;
+
+import java.util.List;
+
+/**
+ * The item changes made by one service call, published to the change feed once its transaction commits.
+ */
+public record ItemChangeBatch(
+        List<ItemChangeEvent> changes
+) {
+    public static ItemChangeBatch of(ItemChangeEvent change) {
+        return new ItemChangeBatch(List.of(change));
+    }
+}
@@ -0,0 +1,73 @@
+package net.zeotrope.item.model;
+
+import net.zeotrope.item.exceptions.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Opaque delta sync position: the modification time and id of the last change returned, in microseconds so the
+ * position is exact for postgres timestamps. Changes are read in (time, id) order strictly after it.
+ */
+public record ItemChangeCursor(
+        long epochMicros,
+        long lastId
+) implements Comparable<ItemChangeCursor> {
+    public static final ItemChangeCursor START = new ItemChangeCursor(0L, 0L);
+
+    private static final String VERSION = "c1";
+    private static final String SEPARATOR = ":";
+    private static final LocalDateTime EPOCH = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+
+    public static ItemChangeCursor at(LocalDateTime modifiedAt, long lastId) {
+        return new ItemChangeCursor(ChronoUnit.MICROS.between(EPOCH, modifiedAt), lastId);
+    }
+
+    public LocalDateTime modifiedAt() {
+        return EPOCH.plus(epochMicros, ChronoUnit.MICROS);
+    }
+
+    public String encode() {
+        var token = String.join(SEPARATOR, VERSION, Long.toString(epochMicros), Long.toString(lastId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a cursor handed out earlier or, to start from a point in time, an ISO-8601 timestamp with an offset.
+     */
+    public static ItemChangeCursor parse(String since) {
+        if (since == null || since.isBlank()) {
+            return START;
+        }
+        try {
+            var modifiedAt = OffsetDateTime.parse(since).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            return at(modifiedAt, 0L);
+        } catch (DateTimeParseException e) {
+            return decode(since);
+        }
+    }
+
+    private static ItemChangeCursor decode(String cursor) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new InvalidRequestException(String.format("Invalid change cursor: %s", cursor));
+            }
+            return new ItemChangeCursor(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(String.format("Invalid change cursor: %s", cursor));
+        }
+    }
+
+    @Override
+    public int compareTo(ItemChangeCursor other) {
+        var byTime = Long.compare(epochMicros, other.epochMicros);
+        return byTime != 0 ? byTime : Long.compare(lastId, other.lastId);
+    }
+}
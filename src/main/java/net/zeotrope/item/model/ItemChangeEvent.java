@@ -0,0 +1,26 @@
+package net.zeotrope.item.model;
+
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed item mutation as pushed to change feed subscribers. Deletions carry the id only.
+ */
+public record ItemChangeEvent(
+        Type type,
+        Long id,
+        ItemStatus status,
+        LocalDateTime lastModifiedAt
+) {
+    public enum Type { CREATED, UPDATED, STATUS_CHANGED, DELETED }
+
+    public static ItemChangeEvent of(Type type, Item item) {
+        return new ItemChangeEvent(type, item.getId(), item.getStatus(), item.getLastModifiedAt());
+    }
+
+    public static ItemChangeEvent deleted(Long id) {
+        return new ItemChangeEvent(Type.DELETED, id, null, null);
+    }
+}
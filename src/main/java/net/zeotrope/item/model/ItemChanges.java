@@ -0,0 +1,16 @@
+package net.zeotrope.item.model;
+
+import net.zeotrope.item.domain.Item;
+
+import java.util.List;
+
+/**
+ * One batch of a delta sync: items created or modified and ids deleted after the requested cursor, in change order.
+ * Passing {@code cursor} back continues after this batch; {@code hasMore} tells whether changes are already waiting.
+ */
+public record ItemChanges(
+        List<Item> items,
+        List<Long> deletedIds,
+        String cursor,
+        boolean hasMore
+) {}
@@ -0,0 +1,16 @@
+package net.zeotrope.item.model;
+
+import net.zeotrope.item.domain.Item;
+
+/**
+ * A rendered item response body and the validators of the item it was rendered from, cached together so the body can
+ * be served with its ETag and Last-Modified without parsing it.
+ */
+public record ItemJson(
+        ItemVersion version,
+        byte[] body
+) {
+    public static ItemJson of(Item item, byte[] body) {
+        return new ItemJson(ItemVersion.of(item), body);
+    }
+}
@@ -0,0 +1,14 @@
+package net.zeotrope.item.model;
+
+import net.zeotrope.item.domain.Item;
+
+import java.util.List;
+
+public record ItemPage(
+        List<Item> items,
+        String nextCursor
+) {
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,42 @@
+package net.zeotrope.item.model;
+
+import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.exceptions.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Opaque keyset continuation token: the status filter of the listing and the last id returned.
+ */
+public record ItemPageCursor(
+        ItemStatus status,
+        long lastId
+) {
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = ":";
+    private static final String ANY_STATUS = "*";
+
+    public String encode() {
+        var token = String.join(SEPARATOR, VERSION, status == null ? ANY_STATUS : status.name(), Long.toString(lastId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ItemPageCursor decode(String cursor) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new InvalidRequestException(String.format("Invalid page cursor: %s", cursor));
+            }
+            var status = ANY_STATUS.equals(parts[1]) ? null : ItemStatus.valueOf(parts[1]);
+            return new ItemPageCursor(status, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(String.format("Invalid page cursor: %s", cursor));
+        }
+    }
+
+    public boolean matches(ItemStatus requestedStatus) {
+        return Objects.equals(status, requestedStatus);
+    }
+}
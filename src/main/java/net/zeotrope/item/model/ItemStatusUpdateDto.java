@@ -0,0 +1,10 @@
+package net.zeotrope.item.model;
+
+import net.zeotrope.item.domain.ItemStatus;
+
+import java.util.List;
+
+public record ItemStatusUpdateDto(
+        List<Long> ids,
+        ItemStatus status
+) {}
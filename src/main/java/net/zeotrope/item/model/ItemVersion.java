@@ -0,0 +1,41 @@
+package net.zeotrope.item.model;
+
+import net.zeotrope.item.domain.Item;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Validators of an item representation: a strong entity tag from the id and modification time, and the
+ * modification time itself for Last-Modified. Both change whenever the stored item does.
+ */
+public record ItemVersion(
+        long id,
+        LocalDateTime lastModifiedAt
+) {
+    private static final LocalDateTime EPOCH = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+
+    public static ItemVersion of(Item item) {
+        return new ItemVersion(item.getId(), item.getLastModifiedAt());
+    }
+
+    public static ItemVersion ofEpochMicros(long id, long epochMicros) {
+        return new ItemVersion(id, EPOCH.plus(epochMicros, ChronoUnit.MICROS));
+    }
+
+    // postgres timestamps carry microseconds, nothing finer is lost
+    public long epochMicros() {
+        return lastModifiedAt == null ? 0L : ChronoUnit.MICROS.between(EPOCH, lastModifiedAt);
+    }
+
+    public String eTag() {
+        return id + "-" + Long.toHexString(epochMicros());
+    }
+
+    // timestamps are written by the database in the zone the service runs in, -1 leaves Last-Modified out
+    public long lastModifiedMillis() {
+        return lastModifiedAt == null ? -1L : lastModifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
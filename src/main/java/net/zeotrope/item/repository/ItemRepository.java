@@ -1,13 +1,102 @@
 package net.zeotrope.item.repository;
 
+import jakarta.persistence.QueryHint;
 import net.zeotrope.item.domain.Item;
 import net.zeotrope.item.domain.ItemStatus;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByStatus(ItemStatus status);
+    // keyset pagination, served by the primary key and idx_items_status_id
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Item> findByStatusAndIdGreaterThanOrderByIdAsc(ItemStatus status, Long id, Limit limit);
+
+    // validator for conditional requests, answered without materializing the entity
+    @Query("select i.lastModifiedAt from Item i where i.id = :id")
+    Optional<LocalDateTime> findLastModifiedAtById(@Param("id") Long id);
+
+    // delta sync keyset, served by idx_items_last_modified_at_id
+    @Query(value = """
+            select * from items
+            where (last_modified_at, id) > (:since, :afterId)
+              and last_modified_at < :until
+            order by last_modified_at, id
+            limit :limit
+            """, nativeQuery = true)
+    List<Item> findModifiedBetween(
+            @Param("since") LocalDateTime since,
+            @Param("afterId") long afterId,
+            @Param("until") LocalDateTime until,
+            @Param("limit") int limit);
+
+    // the database clock (transaction start, like now()), modification times are stamped from it rather than the jvm's
+    @Query(value = "select localtimestamp", nativeQuery = true)
+    LocalDateTime findDatabaseTime();
+
+    // single round trip for a batch of ids, bound as one array parameter
+    @Query(value = "select * from items where id = any(:ids)", nativeQuery = true)
+    List<Item> findAllByIdAny(@Param("ids") Long[] ids);
+
+    // set based status transition with the same discontinued_at rules as ItemMapper.toUpdateItemStatus
+    @Transactional
+    @Query(value = """
+            update items
+            set status = cast(:status as item_status),
+                last_modified_at = now(),
+                discontinued_at = case when cast(:status as item_status) = 'DISCONTINUED' then now() else null end
+            where id = any(:ids)
+            returning *
+            """, nativeQuery = true)
+    List<Item> updateStatusByIdAny(@Param("ids") Long[] ids, @Param("status") String status);
+
+    // forward-only cursor over the whole table, the constructor expression keeps rows out of the persistence context
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new net.zeotrope.item.domain.Item(
+                i.id, i.status, i.name, i.summary, i.createdAt, i.lastModifiedAt, i.discontinuedAt
+            )
+            from Item i
+            order by i.id
+            """)
+    Stream<Item> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select i.id from Item i")
+    Stream<Long> streamAllIds();
+
+    // most recently modified first, used to preload the cache at startup
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new net.zeotrope.item.domain.Item(
+                i.id, i.status, i.name, i.summary, i.createdAt, i.lastModifiedAt, i.discontinuedAt
+            )
+            from Item i
+            order by i.lastModifiedAt desc, i.id desc
+            """)
+    Stream<Item> streamRecent(Limit limit);
 }
@@ -0,0 +1,35 @@
+package net.zeotrope.item.repository;
+
+import net.zeotrope.item.domain.ItemTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ItemTombstoneRepository extends JpaRepository<ItemTombstone, Long> {
+
+    // delta sync keyset, served by idx_item_tombstones_deleted_at_id
+    @Query(value = """
+            select * from item_tombstones
+            where (deleted_at, id) > (:since, :afterId)
+              and deleted_at < :until
+            order by deleted_at, id
+            limit :limit
+            """, nativeQuery = true)
+    List<ItemTombstone> findDeletedBetween(
+            @Param("since") LocalDateTime since,
+            @Param("afterId") long afterId,
+            @Param("until") LocalDateTime until,
+            @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from item_tombstones where deleted_at < :before", nativeQuery = true)
+    int deleteDeletedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,134 @@
+package net.zeotrope.item.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import net.zeotrope.item.cache.BatchCacheOperations;
+import net.zeotrope.item.cache.VersionedListCache;
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.exceptions.InvalidRequestException;
+import net.zeotrope.item.mapper.ItemMapper;
+import net.zeotrope.item.model.ItemChangeBatch;
+import net.zeotrope.item.model.ItemChangeEvent;
+import net.zeotrope.item.model.ItemDto;
+import net.zeotrope.item.repository.ItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+public class ItemBulkService {
+
+    private static final String ITEMS_CACHE = "items";
+
+    public ItemBulkService(
+            ItemRepository itemRepository,
+            EntityManager entityManager,
+            BatchCacheOperations batchCacheOperations,
+            VersionedListCache itemListCache,
+            ItemExistenceService itemExistenceService,
+            ApplicationEventPublisher eventPublisher) {
+        this.itemRepository = itemRepository;
+        this.entityManager = entityManager;
+        this.batchCacheOperations = batchCacheOperations;
+        this.itemListCache = itemListCache;
+        this.itemExistenceService = itemExistenceService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final BatchCacheOperations batchCacheOperations;
+    private final VersionedListCache itemListCache;
+    private final ItemExistenceService itemExistenceService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${item.bulk.max-items:10000}")
+    private int maxBulkItems = 10000;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize = 100;
+
+    @Value("${item.bulk.transaction-timeout-seconds:4}")
+    private int transactionTimeoutSeconds = 4;
+
+    @Value("${item.changes.settle-window:5s}")
+    private Duration settleWindow = Duration.ofSeconds(5);
+
+    // rows are stamped with the database time their transaction started at but only become visible when it commits,
+    // a delta sync cursor may pass that time meanwhile: a bulk write must commit within the settle window
+    @PostConstruct
+    void checkTransactionTimeout() {
+        if (Duration.ofSeconds(transactionTimeoutSeconds).compareTo(settleWindow) >= 0) {
+            throw new IllegalStateException(String.format(
+                    "item.bulk.transaction-timeout-seconds (%d) must be shorter than item.changes.settle-window (%s)",
+                    transactionTimeoutSeconds, settleWindow));
+        }
+    }
+
+    // flushing and clearing per jdbc batch keeps the persistence context (and dirty checking) small
+    @Transactional(timeoutString = "${item.bulk.transaction-timeout-seconds:4}")
+    public List<Item> createItems(List<ItemDto> items) {
+        if (items.size() > maxBulkItems) {
+            throw new InvalidRequestException(String.format("At most %d items can be created at once", maxBulkItems));
+        }
+        var created = new ArrayList<Item>(items.size());
+        var createdAt = itemRepository.findDatabaseTime();
+        for (var itemDto : items) {
+            var item = ItemMapper.toNewItem(itemDto, createdAt);
+            entityManager.persist(item);
+            created.add(item);
+            if (created.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        var entries = new LinkedHashMap<Long, Item>();
+        created.forEach(item -> entries.put(item.getId(), item));
+        created.forEach(item -> itemExistenceService.recordCreated(item.getId()));
+        batchCacheOperations.putAllAfterCommit(ITEMS_CACHE, entries);
+        itemListCache.invalidateAfterCommit();
+        eventPublisher.publishEvent(changes(ItemChangeEvent.Type.CREATED, created));
+        return created;
+    }
+
+    // a single UPDATE ... RETURNING for the whole set, the returned rows refresh the cache in one pipeline
+    @Transactional(timeoutString = "${item.bulk.transaction-timeout-seconds:4}")
+    public List<Item> updateItemStatus(List<Long> ids, ItemStatus status) {
+        if (status == null) {
+            throw new InvalidRequestException("item status cannot be null");
+        }
+        var distinctIds = ids == null ? new Long[0] : ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(Long[]::new);
+        if (distinctIds.length > maxBulkItems) {
+            throw new InvalidRequestException(String.format("At most %d items can be updated at once", maxBulkItems));
+        }
+        if (distinctIds.length == 0) {
+            return List.of();
+        }
+
+        var updated = itemRepository.updateStatusByIdAny(distinctIds, status.name());
+        var entries = new LinkedHashMap<Long, Item>();
+        updated.forEach(item -> entries.put(item.getId(), item));
+        batchCacheOperations.putAllAfterCommit(ITEMS_CACHE, entries);
+        itemListCache.invalidateAfterCommit();
+        eventPublisher.publishEvent(changes(ItemChangeEvent.Type.STATUS_CHANGED, updated));
+        return updated;
+    }
+
+    private static ItemChangeBatch changes(ItemChangeEvent.Type type, List<Item> items) {
+        return new ItemChangeBatch(items.stream().map(item -> ItemChangeEvent.of(type, item)).toList());
+    }
+}
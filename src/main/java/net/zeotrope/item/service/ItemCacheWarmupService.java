@@ -0,0 +1,131 @@
+package net.zeotrope.item.service;
+
+import net.zeotrope.item.cache.BatchCacheOperations;
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.repository.ItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preloads the most recently modified items into redis after startup, so a fresh node or a flushed redis
+ * does not send every first request to the database. Readiness is held back until it finishes or its time budget runs out.
+ */
+@Service
+public class ItemCacheWarmupService {
+    public static final Logger LOGGER = LoggerFactory.getLogger(ItemCacheWarmupService.class);
+
+    private static final String ITEMS_CACHE = "items";
+
+    public enum State { PENDING, RUNNING, COMPLETED, TIMED_OUT, FAILED, DISABLED }
+
+    public ItemCacheWarmupService(
+            ItemRepository itemRepository,
+            BatchCacheOperations batchCacheOperations,
+            PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.batchCacheOperations = batchCacheOperations;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    private final ItemRepository itemRepository;
+    private final BatchCacheOperations batchCacheOperations;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicLong warmedItems = new AtomicLong();
+    private volatile State state = State.PENDING;
+    private volatile Instant deadline;
+
+    @Value("${cache.warmup.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${cache.warmup.max-items:50000}")
+    private int maxItems = 50000;
+
+    @Value("${cache.warmup.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${cache.warmup.time-budget:30s}")
+    private Duration timeBudget = Duration.ofSeconds(30);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled || maxItems <= 0) {
+            state = State.DISABLED;
+            return;
+        }
+        deadline = Instant.now().plus(timeBudget);
+        Thread.ofVirtual().name("item-cache-warmup").start(this::warmUp);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getWarmedItems() {
+        return warmedItems.get();
+    }
+
+    // a run that overstays its budget no longer holds back readiness, even before it notices the deadline
+    public boolean isFinished() {
+        return switch (state) {
+            case PENDING, RUNNING -> deadline != null && Instant.now().isAfter(deadline);
+            default -> true;
+        };
+    }
+
+    void warmUp() {
+        state = State.RUNNING;
+        if (deadline == null) {
+            deadline = Instant.now().plus(timeBudget);
+        }
+        var started = System.nanoTime();
+        try {
+            // the stream needs an open transaction to honour the fetch size
+            var completed = transactionTemplate.execute(status -> {
+                try (var items = itemRepository.streamRecent(Limit.of(maxItems))) {
+                    var batch = new LinkedHashMap<Long, Item>();
+                    var iterator = items.iterator();
+                    while (iterator.hasNext()) {
+                        var item = iterator.next();
+                        batch.put(item.getId(), item);
+                        if (batch.size() == batchSize) {
+                            writeBatch(batch);
+                            if (Instant.now().isAfter(deadline)) {
+                                return false;
+                            }
+                        }
+                    }
+                    writeBatch(batch);
+                    return true;
+                }
+            });
+            state = Boolean.TRUE.equals(completed) ? State.COMPLETED : State.TIMED_OUT;
+        } catch (RuntimeException e) {
+            state = State.FAILED;
+            LOGGER.warn("Item cache warm-up failed after {} items", warmedItems.get(), e);
+        }
+        LOGGER.info("Item cache warm-up {} with {} items in {} ms",
+                state, warmedItems.get(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private void writeBatch(LinkedHashMap<Long, Item> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchCacheOperations.putAllIfAbsent(ITEMS_CACHE, batch);
+        warmedItems.addAndGet(batch.size());
+        batch.clear();
+    }
+}
@@ -0,0 +1,230 @@
+package net.zeotrope.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import net.zeotrope.item.cache.CircuitBreaker;
+import net.zeotrope.item.model.ItemChangeBatch;
+import net.zeotrope.item.model.ItemChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed item changes to server-sent event subscribers on every node.
+ * <p>
+ * Changes are published on a redis channel after commit and fanned out by each node to its own subscribers.
+ * Every subscriber has a bounded buffer drained by its own virtual thread, so a slow client never holds up the
+ * channel or other clients: when its buffer is full new events are dropped and the client is told how many it
+ * missed, to catch up through the delta sync endpoint.
+ */
+@Service
+public class ItemChangeFeed implements MessageListener {
+    public static final Logger LOGGER = LoggerFactory.getLogger(ItemChangeFeed.class);
+
+    private static final String CHANGE_EVENT = "item-change";
+    private static final String OVERFLOW_EVENT = "overflow";
+    // keeps redis messages small however many items one call changed
+    private static final int MAX_CHANGES_PER_MESSAGE = 500;
+
+    public ItemChangeFeed(
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            CircuitBreaker redisCircuitBreaker,
+            ObjectMapper objectMapper,
+            @Value("${item.events.channel:items:changes}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = redisCircuitBreaker;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    @Value("${item.events.buffer-size:256}")
+    private int bufferSize = 256;
+
+    @Value("${item.events.max-subscribers:1000}")
+    private int maxSubscribers = 1000;
+
+    @Value("${item.events.heartbeat:15s}")
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    @Value("${item.events.timeout:30m}")
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Opens a feed for one client, or returns null when this node already serves as many as it allows.
+     */
+    @Nullable
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        var emitter = new SseEmitter(timeout.toMillis());
+        var subscriber = new Subscriber(emitter, bufferSize);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        Thread.ofVirtual().name("item-change-subscriber").start(() -> drain(subscriber));
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // fallback execution covers writes made outside a transaction, they are committed already
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsChanged(ItemChangeBatch batch) {
+        var changes = batch.changes();
+        for (int from = 0; from < changes.size(); from += MAX_CHANGES_PER_MESSAGE) {
+            var chunk = changes.subList(from, Math.min(from + MAX_CHANGES_PER_MESSAGE, changes.size()));
+            String message;
+            try {
+                message = objectMapper.writeValueAsString(chunk);
+            } catch (JsonProcessingException e) {
+                LOGGER.warn("Failed to encode {} item changes", chunk.size(), e);
+                continue;
+            }
+            // without redis the changes still reach the subscribers of this node
+            circuitBreaker.run(
+                    () -> redisTemplate.convertAndSend(channel, message),
+                    () -> dispatch(message)
+            );
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        dispatch(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        subscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter.complete();
+        });
+    }
+
+    // decoded once per node and encoded once per change, subscribers share the rendered events
+    void dispatch(String message) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        List<ItemChangeEvent> changes;
+        try {
+            changes = objectMapper.readValue(message, new TypeReference<>() {});
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("Ignoring malformed item change message", e);
+            return;
+        }
+        var events = new ArrayList<String>(changes.size());
+        for (var change : changes) {
+            try {
+                events.add(objectMapper.writeValueAsString(change));
+            } catch (JsonProcessingException e) {
+                LOGGER.warn("Failed to encode a change of item {}", change.id(), e);
+            }
+        }
+        for (var subscriber : subscribers) {
+            events.forEach(subscriber::offer);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (subscriber.isOpen()) {
+                var event = subscriber.events.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                var dropped = subscriber.dropped.getAndSet(0);
+                if (dropped > 0) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name(OVERFLOW_EVENT)
+                            .data("{\"dropped\":" + dropped + "}", MediaType.APPLICATION_JSON));
+                }
+                if (event == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name(CHANGE_EVENT).data(event, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the client went away, completion callbacks do the rest
+            LOGGER.debug("Item change subscriber disconnected", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            subscriber.close();
+            subscribers.remove(subscriber);
+        }
+    }
+
+    /**
+     * One client's bounded buffer of rendered events and the count of those dropped since the last delivery.
+     */
+    static final class Subscriber {
+
+        Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.events = new ArrayBlockingQueue<>(Math.max(bufferSize, 1));
+        }
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<String> events;
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile boolean open = true;
+
+        boolean offer(String event) {
+            if (!open) {
+                return false;
+            }
+            if (!events.offer(event)) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        long droppedCount() {
+            return dropped.get();
+        }
+
+        boolean isOpen() {
+            return open;
+        }
+
+        void close() {
+            open = false;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package net.zeotrope.item.service;
+
+import jakarta.annotation.PreDestroy;
+import net.zeotrope.item.cache.BatchCacheOperations;
+import net.zeotrope.item.cache.TwoTierCacheManager;
+import net.zeotrope.item.cache.VersionedListCache;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Drops cached items changed in the database by other clients, as announced by the items table triggers on a
+ * postgres notification channel. Notifications arriving in a burst are evicted as one batch.
+ * <p>
+ * Each notification names the application of the writing session. Writes of this service, from any node, were
+ * already written through to redis and broadcast to the near caches, so they only update the id filter: evicting
+ * them again would cost every node a redis round trip per write and throw away the fresh entry.
+ * <p>
+ * The listener holds its own connection outside the pool, a LISTEN session lives as long as its connection.
+ */
+@Service
+public class ItemChangeNotificationListener {
+    public static final Logger LOGGER = LoggerFactory.getLogger(ItemChangeNotificationListener.class);
+
+    private static final String ITEMS_CACHE = "items";
+    // the channel the V6 migration's triggers notify on
+    private static final String CHANNEL = "items_changed";
+
+    public ItemChangeNotificationListener(
+            DataSourceProperties dataSourceProperties,
+            BatchCacheOperations batchCacheOperations,
+            TwoTierCacheManager cacheManager,
+            VersionedListCache itemListCache,
+            ItemExistenceService itemExistenceService) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.batchCacheOperations = batchCacheOperations;
+        this.cacheManager = cacheManager;
+        this.itemListCache = itemListCache;
+        this.itemExistenceService = itemExistenceService;
+    }
+
+    private final DataSourceProperties dataSourceProperties;
+    private final BatchCacheOperations batchCacheOperations;
+    private final TwoTierCacheManager cacheManager;
+    private final VersionedListCache itemListCache;
+    private final ItemExistenceService itemExistenceService;
+    private volatile boolean running;
+
+    // the application_name the pool's sessions write with, see spring.datasource.hikari.data-source-properties
+    @Value("${spring.application.name}")
+    private String applicationName;
+
+    @Value("${cache.db-notify.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${cache.db-notify.batch-window:50ms}")
+    private Duration batchWindow = Duration.ofMillis(50);
+
+    @Value("${cache.db-notify.max-batch:1000}")
+    private int maxBatch = 1000;
+
+    @Value("${cache.db-notify.reconnect-delay:5s}")
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        Thread.ofVirtual().name("item-change-listener").start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    private void listen() {
+        var connectedBefore = false;
+        while (running) {
+            try (var connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                var pgConnection = connection.unwrap(PGConnection.class);
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (connectedBefore) {
+                    onNotificationsMissed();
+                }
+                connectedBefore = true;
+                LOGGER.info("Listening for item changes on channel {}", CHANNEL);
+                while (running) {
+                    var ids = new LinkedHashSet<Long>();
+                    collect(pgConnection.getNotifications(1_000), ids);
+                    if (ids.isEmpty()) {
+                        continue;
+                    }
+                    // a burst of statements arrives as many notifications, gather it into one eviction
+                    var deadline = System.nanoTime() + batchWindow.toNanos();
+                    long remaining;
+                    while (ids.size() < maxBatch && (remaining = deadline - System.nanoTime()) > 0) {
+                        collect(pgConnection.getNotifications((int) Math.max(1, remaining / 1_000_000)), ids);
+                    }
+                    evict(ids);
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                LOGGER.warn("Item change listener lost its connection, reconnecting in {} ms", reconnectDelay.toMillis(), e);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    void evict(Set<Long> ids) {
+        try {
+            batchCacheOperations.evictAll(ITEMS_CACHE, ids);
+            itemListCache.invalidate();
+            LOGGER.debug("Evicted {} items changed in the database", ids.size());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to evict {} items changed in the database", ids.size(), e);
+        }
+    }
+
+    // changes made while disconnected were never delivered to any node: drop every cached item and rebuild the id filter
+    private void onNotificationsMissed() {
+        LOGGER.warn("Item change notifications may have been missed, clearing the item caches and cached lists");
+        try {
+            // redis and every node's near cache, with the caches derived from items
+            var cache = cacheManager.getTwoTierCache(ITEMS_CACHE);
+            if (cache != null) {
+                cache.clear();
+            }
+            itemListCache.invalidate();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to clear caches after reconnecting", e);
+        }
+        Thread.ofVirtual().name("item-id-filter").start(itemExistenceService::scheduledRebuild);
+    }
+
+    // collects the ids other clients changed, ids of every origin are added to the id filter
+    void collect(PGNotification[] notifications, Set<Long> ids) {
+        if (notifications == null) {
+            return;
+        }
+        for (var notification : notifications) {
+            var payload = notification.getParameter();
+            var separator = payload.lastIndexOf('|');
+            var ownChange = applicationName.equals(payload.substring(0, Math.max(separator, 0)));
+            for (var id : payload.substring(separator + 1).split(",")) {
+                try {
+                    var itemId = Long.valueOf(id.trim());
+                    // inserted ids must pass the id filter on every node, updated and deleted ones already do
+                    itemExistenceService.recordCreated(itemId);
+                    if (!ownChange) {
+                        ids.add(itemId);
+                    }
+                } catch (NumberFormatException e) {
+                    LOGGER.debug("Ignoring malformed item change notification {}", payload);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package net.zeotrope.item.service;
+
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemTombstone;
+import net.zeotrope.item.exceptions.ChangeCursorExpiredException;
+import net.zeotrope.item.exceptions.InvalidRequestException;
+import net.zeotrope.item.model.ItemChangeCursor;
+import net.zeotrope.item.model.ItemChanges;
+import net.zeotrope.item.repository.ItemRepository;
+import net.zeotrope.item.repository.ItemTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+/**
+ * Serves items changed after a cursor, so mirroring clients transfer only what changed since their last call.
+ * <p>
+ * Modification times are taken from the database clock at transaction start, by this service and by sql alike, so a
+ * change may become visible after later ones. Changes younger than the settle window are therefore held back until
+ * every transaction that could precede them has committed.
+ */
+@Service
+public class ItemChangeService {
+    public static final Logger LOGGER = LoggerFactory.getLogger(ItemChangeService.class);
+
+    public ItemChangeService(ItemRepository itemRepository, ItemTombstoneRepository itemTombstoneRepository) {
+        this.itemRepository = itemRepository;
+        this.itemTombstoneRepository = itemTombstoneRepository;
+    }
+
+    private final ItemRepository itemRepository;
+    private final ItemTombstoneRepository itemTombstoneRepository;
+
+    @Value("${item.page.default-size:100}")
+    private int defaultPageSize = 100;
+
+    @Value("${item.page.max-size:1000}")
+    private int maxPageSize = 1000;
+
+    @Value("${item.changes.settle-window:5s}")
+    private Duration settleWindow = Duration.ofSeconds(5);
+
+    @Value("${item.changes.tombstone-retention:30d}")
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    @Transactional(readOnly = true)
+    public ItemChanges getChanges(String since, Integer limit) {
+        var cursor = ItemChangeCursor.parse(since);
+        var pageSize = pageSize(limit);
+        // the horizon comes from the clock the modification times were stamped with
+        var until = itemRepository.findDatabaseTime().minus(settleWindow);
+        // deletions older than the retention are gone, a client this far behind has to start over
+        if (!cursor.equals(ItemChangeCursor.START) && cursor.modifiedAt().isBefore(until.minus(tombstoneRetention))) {
+            throw new ChangeCursorExpiredException(String.format(
+                    "Change cursor is older than %d days, sync again from the start", tombstoneRetention.toDays()));
+        }
+
+        // both keysets are read one row past the page to tell whether more changes follow
+        var modifiedAt = cursor.modifiedAt();
+        var items = itemRepository.findModifiedBetween(modifiedAt, cursor.lastId(), until, pageSize + 1);
+        var tombstones = itemTombstoneRepository.findDeletedBetween(modifiedAt, cursor.lastId(), until, pageSize + 1);
+
+        var changedItems = new ArrayList<Item>();
+        var deletedIds = new ArrayList<Long>();
+        var last = cursor;
+        int i = 0;
+        int t = 0;
+        while (changedItems.size() + deletedIds.size() < pageSize && (i < items.size() || t < tombstones.size())) {
+            var nextItem = i < items.size() ? position(items.get(i)) : null;
+            var nextTombstone = t < tombstones.size() ? position(tombstones.get(t)) : null;
+            if (nextTombstone == null || (nextItem != null && nextItem.compareTo(nextTombstone) < 0)) {
+                changedItems.add(items.get(i++));
+                last = nextItem;
+            } else {
+                deletedIds.add(tombstones.get(t++).getId());
+                last = nextTombstone;
+            }
+        }
+        var hasMore = i < items.size() || t < tombstones.size();
+        if (!hasMore) {
+            // caught up to the settle horizon, a quiet period must not age the cursor towards expiry
+            var horizon = ItemChangeCursor.at(until, 0L);
+            if (horizon.compareTo(last) > 0) {
+                last = horizon;
+            }
+        }
+        return new ItemChanges(changedItems, deletedIds, last.encode(), hasMore);
+    }
+
+    @Scheduled(
+            initialDelayString = "${item.changes.purge-interval:PT1H}",
+            fixedDelayString = "${item.changes.purge-interval:PT1H}"
+    )
+    public void purgeTombstones() {
+        var purged = itemTombstoneRepository.deleteDeletedBefore(itemRepository.findDatabaseTime().minus(tombstoneRetention));
+        if (purged > 0) {
+            LOGGER.info("Purged {} item tombstones older than {} days", purged, tombstoneRetention.toDays());
+        }
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit <= 0) {
+            throw new InvalidRequestException(String.format("Page size must be positive: %d", limit));
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private static ItemChangeCursor position(Item item) {
+        return ItemChangeCursor.at(item.getLastModifiedAt(), item.getId());
+    }
+
+    private static ItemChangeCursor position(ItemTombstone tombstone) {
+        return ItemChangeCursor.at(tombstone.getDeletedAt(), tombstone.getId());
+    }
+}
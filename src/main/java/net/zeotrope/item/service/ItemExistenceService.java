@@ -0,0 +1,141 @@
+package net.zeotrope.item.service;
+
+import net.zeotrope.item.cache.LongBloomFilter;
+import net.zeotrope.item.cache.TwoTierCacheManager;
+import net.zeotrope.item.repository.ItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+
+/**
+ * Answers whether an item id can exist without a database or redis round trip.
+ * <p>
+ * A Bloom filter of every existing id is built at startup and rebuilt periodically; ids created here are added directly
+ * and ids written on other nodes arrive with their cache invalidations. Ids that pass the filter but turn out missing
+ * are remembered for a short time in the {@code items-missing} cache, which every write to {@code items} evicts.
+ */
+@Service
+public class ItemExistenceService {
+    public static final Logger LOGGER = LoggerFactory.getLogger(ItemExistenceService.class);
+
+    private static final String ITEMS_CACHE = "items";
+    private static final String ITEMS_MISSING_CACHE = "items-missing";
+    private static final byte[] MISSING = {1};
+
+    public ItemExistenceService(
+            ItemRepository itemRepository,
+            TwoTierCacheManager cacheManager,
+            PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        cacheManager.addRemoteChangeListener(ITEMS_CACHE, this::recordRemoteChanges);
+    }
+
+    private final ItemRepository itemRepository;
+    private final TwoTierCacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    // null until the first build completes, every id is then assumed to exist
+    private volatile LongBloomFilter filter;
+    // the filter under construction, receives the ids created while the table is being read
+    private volatile LongBloomFilter building;
+
+    @Value("${cache.bloom.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${cache.bloom.expected-items:1000000}")
+    private long expectedItems = 1_000_000L;
+
+    @Value("${cache.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            Thread.ofVirtual().name("item-id-filter").start(this::rebuild);
+        }
+    }
+
+    // pub/sub delivery is at most once, a periodic rebuild bounds the life of a missed creation
+    @Scheduled(
+            initialDelayString = "${cache.bloom.rebuild-interval:PT1H}",
+            fixedDelayString = "${cache.bloom.rebuild-interval:PT1H}"
+    )
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public boolean mightExist(Long id) {
+        var current = filter;
+        return id == null || current == null || current.mightContain(id);
+    }
+
+    public void recordCreated(Long id) {
+        if (id == null) {
+            return;
+        }
+        // building before filter: once building is cleared the filter already is its replacement
+        var pending = building;
+        if (pending != null) {
+            pending.put(id);
+        }
+        var current = filter;
+        if (current != null) {
+            current.put(id);
+        }
+    }
+
+    public boolean isKnownMissing(Long id) {
+        var cache = cacheManager.getCache(ITEMS_MISSING_CACHE);
+        return cache != null && cache.get(id) != null;
+    }
+
+    public void recordMissing(Long id) {
+        var cache = cacheManager.getCache(ITEMS_MISSING_CACHE);
+        if (cache != null) {
+            cache.put(id, MISSING);
+        }
+    }
+
+    synchronized void rebuild() {
+        var started = System.nanoTime();
+        try {
+            var next = LongBloomFilter.create(Math.max(expectedItems, itemRepository.count() * 2), falsePositiveRate);
+            building = next;
+            // the stream needs an open transaction to honour the fetch size
+            transactionTemplate.executeWithoutResult(status -> {
+                try (var ids = itemRepository.streamAllIds()) {
+                    ids.forEach(next::put);
+                }
+            });
+            filter = next;
+            LOGGER.info("Built item id filter of {} bits in {} ms",
+                    next.bitCount(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to build the item id filter, keeping the previous one", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    private void recordRemoteChanges(Collection<String> keys) {
+        for (var key : keys) {
+            try {
+                recordCreated(Long.valueOf(key));
+            } catch (NumberFormatException e) {
+                LOGGER.debug("Ignoring non numeric item cache key {}", key);
+            }
+        }
+    }
+}
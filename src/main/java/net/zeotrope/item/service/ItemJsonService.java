@@ -0,0 +1,62 @@
+package net.zeotrope.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import net.zeotrope.item.jfr.SerializationEvent;
+import net.zeotrope.item.model.ItemJson;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Serves items as their cached JSON response body and its validators, so a cache hit never materializes an
+ * {@link net.zeotrope.item.domain.Item}.
+ */
+@Service
+public class ItemJsonService {
+
+    public ItemJsonService(
+            ItemService itemService,
+            ObjectMapper objectMapper,
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.itemService = itemService;
+        this.objectMapper = objectMapper;
+        this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+    }
+
+    private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+    private final ObservationRegistry observationRegistry;
+
+    // entries are evicted together with the "items" entry they were rendered from
+    @Cacheable(value = "items-json", key = "#id", sync = true)
+    public ItemJson getItemJson(Long id) {
+        var item = itemService.get(id);
+        var observation = Observation.createNotStarted("item.serialization", observationRegistry)
+                .lowCardinalityKeyValue("format", "JSON")
+                .start();
+        var event = new SerializationEvent();
+        event.begin();
+        try {
+            var json = objectMapper.writeValueAsBytes(item);
+            event.end();
+            if (event.shouldCommit()) {
+                event.target = "response";
+                event.operation = "serialize";
+                event.format = "JSON";
+                event.size = json.length;
+                event.commit();
+            }
+            return ItemJson.of(item, json);
+        } catch (JsonProcessingException e) {
+            observation.error(e);
+            throw new UncheckedIOException(e);
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -1,40 +1,155 @@
 package net.zeotrope.item.service;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.val;
+import net.zeotrope.item.cache.BatchCacheOperations;
+import net.zeotrope.item.cache.VersionedListCache;
 import net.zeotrope.item.domain.Item;
 import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.exceptions.InvalidRequestException;
 import net.zeotrope.item.exceptions.ItemNotFoundException;
 import net.zeotrope.item.mapper.ItemMapper;
+import net.zeotrope.item.model.ItemChangeBatch;
+import net.zeotrope.item.model.ItemChangeEvent;
 import net.zeotrope.item.model.ItemDto;
+import net.zeotrope.item.model.ItemPage;
+import net.zeotrope.item.model.ItemPageCursor;
 import net.zeotrope.item.repository.ItemRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
+// every method is a stage of the request trace and its Server-Timing header
+@Observed(name = "item.service")
 @CacheConfig(cacheNames = "items")
 @Service
 public class ItemService {
 
-    public ItemService(ItemRepository itemRepository) {
+    private static final String ITEMS_CACHE = "items";
+
+    public ItemService(
+            ItemRepository itemRepository,
+            BatchCacheOperations batchCacheOperations,
+            VersionedListCache itemListCache,
+            ItemExistenceService itemExistenceService,
+            ApplicationEventPublisher eventPublisher) {
         this.itemRepository = itemRepository;
+        this.batchCacheOperations = batchCacheOperations;
+        this.itemListCache = itemListCache;
+        this.itemExistenceService = itemExistenceService;
+        this.eventPublisher = eventPublisher;
     }
 
     private final ItemRepository itemRepository;
+    private final BatchCacheOperations batchCacheOperations;
+    private final VersionedListCache itemListCache;
+    private final ItemExistenceService itemExistenceService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${item.page.default-size:100}")
+    private int defaultPageSize = 100;
+
+    @Value("${item.page.max-size:1000}")
+    private int maxPageSize = 1000;
 
-    public List<Item> getAllItems(ItemStatus status) {
-        if (status != null) {
-            return itemRepository.findAllByStatus(status);
+    @Value("${item.batch.max-ids:500}")
+    private int maxBatchIds = 500;
+
+    public ItemPage getItemPage(ItemStatus status, String cursor, Integer limit) {
+        var pageSize = pageSize(limit);
+        var afterId = 0L;
+        if (cursor != null) {
+            var pageCursor = ItemPageCursor.decode(cursor);
+            if (!pageCursor.matches(status)) {
+                throw new InvalidRequestException("Page cursor does not match the requested status");
+            }
+            afterId = pageCursor.lastId();
         }
-        return itemRepository.findAll();
+
+        // pages are cached as id lists under the current list version, the items themselves come from the item cache
+        var listKey = listKey(status, afterId, pageSize);
+        var lookup = itemListCache.lookup(listKey);
+        if (lookup.isHit()) {
+            var cached = lookup.list();
+            var cachedItems = loadItems(cached.ids());
+            if (cachedItems.size() == cached.ids().size()) {
+                return new ItemPage(cachedItems, cached.nextCursor());
+            }
+        }
+
+        var page = loadPage(status, afterId, pageSize);
+        itemListCache.put(
+                lookup.version(),
+                listKey,
+                new VersionedListCache.CachedList(page.items().stream().map(Item::getId).toList(), page.nextCursor())
+        );
+        var entries = new LinkedHashMap<Long, Item>();
+        page.items().forEach(item -> entries.put(item.getId(), item));
+        // like the batch read, never overwrite an item a concurrent write has cached since the page was read
+        batchCacheOperations.putAllIfAbsent(ITEMS_CACHE, entries);
+        return page;
+    }
+
+    // the version cached pages are held under, -1 while redis cannot tell
+    public long getListVersion() {
+        return itemListCache.currentVersion();
     }
 
-    @Cacheable(value = "items", key = "#id")
+    private ItemPage loadPage(ItemStatus status, long afterId, int pageSize) {
+        // one extra row tells whether another page follows without a count query
+        var fetchLimit = Limit.of(pageSize + 1);
+        var items = status != null
+                ? itemRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId, fetchLimit)
+                : itemRepository.findByIdGreaterThanOrderByIdAsc(afterId, fetchLimit);
+
+        if (items.size() <= pageSize) {
+            return new ItemPage(items, null);
+        }
+        var page = items.subList(0, pageSize);
+        var nextCursor = new ItemPageCursor(status, page.getLast().getId()).encode();
+        return new ItemPage(List.copyOf(page), nextCursor);
+    }
+
+    private static String listKey(ItemStatus status, long afterId, int pageSize) {
+        return String.format("%s:%d:%d", status != null ? status.name() : "*", afterId, pageSize);
+    }
+
+    // the stream needs an open transaction (and postgres a non auto-commit connection) to honour the fetch size
+    @Transactional(readOnly = true)
+    public void exportItems(Consumer<Item> consumer) {
+        try (var items = itemRepository.streamAll()) {
+            items.forEach(consumer);
+        }
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new InvalidRequestException(String.format("Page size must be positive: %d", limit));
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    // ids recently found missing skip the database, the controller answers ids the id filter rules out itself
+    @Cacheable(value = "items", key = "#id", sync = true)
     public Item get(Long id) {
+        if (itemExistenceService.isKnownMissing(id)) {
+            throw new ItemNotFoundException(String.format("Item with id %d not found", id));
+        }
         return itemRepository.findById(id)
                 .map( item -> new Item(
                         item.getId(),
@@ -45,17 +160,56 @@ public class ItemService {
                         item.getLastModifiedAt(),
                         item.getDiscontinuedAt()
                 ))
-                .orElseThrow(() -> new ItemNotFoundException(String.format("Item with id %d not found", id)));
+                .orElseThrow(() -> {
+                    itemExistenceService.recordMissing(id);
+                    return new ItemNotFoundException(String.format("Item with id %d not found", id));
+                });
+    }
+
+    // one MGET for the cached items and one query for the misses, which are written back in one SET NX pipeline
+    public List<Item> getItems(List<Long> ids) {
+        var distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.size() > maxBatchIds) {
+            throw new InvalidRequestException(String.format("At most %d ids can be requested at once", maxBatchIds));
+        }
+        return loadItems(distinctIds);
+    }
+
+    private List<Item> loadItems(List<Long> distinctIds) {
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+
+        var items = new HashMap<Long, Item>(batchCacheOperations.getAll(ITEMS_CACHE, distinctIds, Item.class));
+        // every id is looked up in the cache, only the misses the id filter lets through reach the database
+        var missingIds = distinctIds.stream()
+                .filter(id -> !items.containsKey(id))
+                .filter(itemExistenceService::mightExist)
+                .toArray(Long[]::new);
+        if (missingIds.length > 0) {
+            var loaded = new HashMap<Long, Item>();
+            itemRepository.findAllByIdAny(missingIds).forEach(item -> loaded.put(item.getId(), item));
+            // a read must not overwrite (or broadcast over) a value a concurrent write stored meanwhile
+            batchCacheOperations.putAllIfAbsent(ITEMS_CACHE, loaded);
+            items.putAll(loaded);
+        }
+
+        return distinctIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Transactional
     @CachePut(value = "items", key = "#result.id")
     public Item update(Long id, ItemDto item) {
         var updatedItem = itemRepository.findById(id)
-                .map(oldItem -> ItemMapper.toUpdateItem(item, oldItem))
+                .map(oldItem -> ItemMapper.toUpdateItem(item, oldItem, itemRepository.findDatabaseTime()))
                 .map(itemRepository::save)
                 .orElseThrow(() -> new ItemNotFoundException(String.format("Item with id %d not found", id)));
 
+        itemListCache.invalidateAfterCommit();
+        eventPublisher.publishEvent(ItemChangeBatch.of(ItemChangeEvent.of(ItemChangeEvent.Type.UPDATED, updatedItem)));
         return updatedItem;
     }
 
@@ -63,10 +217,12 @@ public class ItemService {
     @CachePut(value = "items", key = "#result.id")
     public Item updateItemStatus(Long id, ItemStatus status){
         var updatedItem = itemRepository.findById(id)
-                .map(oldItem -> ItemMapper.toUpdateItemStatus(oldItem, status))
+                .map(oldItem -> ItemMapper.toUpdateItemStatus(oldItem, status, itemRepository.findDatabaseTime()))
                 .map(itemRepository::save)
                 .orElseThrow(() -> new ItemNotFoundException(String.format("Item with id %d not found", id)));
 
+        itemListCache.invalidateAfterCommit();
+        eventPublisher.publishEvent(ItemChangeBatch.of(ItemChangeEvent.of(ItemChangeEvent.Type.STATUS_CHANGED, updatedItem)));
         return updatedItem;
     }
 
@@ -76,11 +232,16 @@ public class ItemService {
         if (!itemRepository.existsById(id))
             return;
         itemRepository.deleteById(id);
+        itemListCache.invalidateAfterCommit();
+        eventPublisher.publishEvent(ItemChangeBatch.of(ItemChangeEvent.deleted(id)));
     }
 
     @CachePut(value = "items", key = "#result.id")
     public Item createItem(ItemDto item) {
-        Item saved = itemRepository.save(ItemMapper.toNewItem(item));
+        Item saved = itemRepository.save(ItemMapper.toNewItem(item, itemRepository.findDatabaseTime()));
+        itemExistenceService.recordCreated(saved.getId());
+        itemListCache.invalidateAfterCommit();
+        eventPublisher.publishEvent(ItemChangeBatch.of(ItemChangeEvent.of(ItemChangeEvent.Type.CREATED, saved)));
         return saved;
     }
 }
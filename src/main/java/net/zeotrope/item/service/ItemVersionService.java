@@ -0,0 +1,37 @@
+package net.zeotrope.item.service;
+
+import net.zeotrope.item.exceptions.ItemNotFoundException;
+import net.zeotrope.item.model.ItemVersion;
+import net.zeotrope.item.repository.ItemRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Looks up item modification times for conditional requests without loading or serializing the item. Cached entries
+ * are evicted together with the {@code items} entry of the same id.
+ */
+@Service
+public class ItemVersionService {
+
+    public ItemVersionService(ItemRepository itemRepository, ItemExistenceService itemExistenceService) {
+        this.itemRepository = itemRepository;
+        this.itemExistenceService = itemExistenceService;
+    }
+
+    private final ItemRepository itemRepository;
+    private final ItemExistenceService itemExistenceService;
+
+    // cached as epoch microseconds, a plain number is cheaper to store and read back than a timestamp
+    @Cacheable(value = "items-version", key = "#id", sync = true)
+    public Long getEpochMicros(Long id) {
+        if (itemExistenceService.isKnownMissing(id)) {
+            throw new ItemNotFoundException(String.format("Item with id %d not found", id));
+        }
+        return itemRepository.findLastModifiedAtById(id)
+                .map(lastModifiedAt -> new ItemVersion(id, lastModifiedAt).epochMicros())
+                .orElseThrow(() -> {
+                    itemExistenceService.recordMissing(id);
+                    return new ItemNotFoundException(String.format("Item with id %d not found", id));
+                });
+    }
+}
@@ -0,0 +1,124 @@
+package net.zeotrope.item.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes finished spans to a local file, one JSON object per line, so traces can be inspected without a collector.
+ * Past the size limit the file is rolled over to {@code <file>.1}, keeping at most twice the limit on disk.
+ */
+public class JsonFileSpanExporter implements SpanExporter {
+    public static final Logger LOGGER = LoggerFactory.getLogger(JsonFileSpanExporter.class);
+
+    public JsonFileSpanExporter(Path file, long maxSizeBytes) {
+        this.file = file;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    private final Path file;
+    private final long maxSizeBytes;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BufferedWriter writer;
+    private long size;
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (var span : spans) {
+                var line = objectMapper.writeValueAsString(toJson(span)) + "\n";
+                writer().write(line);
+                size += line.getBytes(StandardCharsets.UTF_8).length;
+                if (size >= maxSizeBytes) {
+                    rollOver();
+                }
+            }
+            if (writer != null) {
+                writer.flush();
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to export {} spans to {}", spans.size(), file, e);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            if (writer != null) {
+                writer.flush();
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    // opened on the first export, an application that never samples a trace leaves no file behind
+    private BufferedWriter writer() throws IOException {
+        if (writer == null) {
+            var parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            size = Files.exists(file) ? Files.size(file) : 0L;
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        return writer;
+    }
+
+    private void rollOver() throws IOException {
+        close();
+        Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private static Map<String, Object> toJson(SpanData span) {
+        var json = new LinkedHashMap<String, Object>();
+        json.put("traceId", span.getTraceId());
+        json.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            json.put("parentSpanId", span.getParentSpanId());
+        }
+        json.put("name", span.getName());
+        json.put("kind", span.getKind().name());
+        json.put("startEpochNanos", span.getStartEpochNanos());
+        json.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        json.put("status", span.getStatus().getStatusCode().name());
+        var attributes = new LinkedHashMap<String, Object>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        json.put("attributes", attributes);
+        return json;
+    }
+}
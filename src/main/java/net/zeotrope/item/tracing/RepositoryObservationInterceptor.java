@@ -0,0 +1,42 @@
+package net.zeotrope.item.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.function.Supplier;
+
+/**
+ * Observes every call of one repository as a span covering the query Hibernate runs for it and the mapping of the
+ * results. Methods returning a stream are observed until the stream is opened.
+ */
+public class RepositoryObservationInterceptor implements MethodInterceptor {
+    public static final String OBSERVATION = "item.repository";
+
+    public RepositoryObservationInterceptor(Class<?> repositoryInterface, Supplier<ObservationRegistry> observationRegistry) {
+        this.repository = repositoryInterface.getSimpleName();
+        this.observationRegistry = observationRegistry;
+    }
+
+    private final String repository;
+    private final Supplier<ObservationRegistry> observationRegistry;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var method = invocation.getMethod().getName();
+        var observation = Observation.createNotStarted(OBSERVATION, observationRegistry.get())
+                .contextualName(repository + "#" + method)
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (var scope = observation.openScope()) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
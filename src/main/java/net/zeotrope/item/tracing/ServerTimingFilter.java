@@ -0,0 +1,97 @@
+package net.zeotrope.item.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Reports where a request spent its time in a Server-Timing header, from the stages observed while it was handled.
+ * <p>
+ * The header is written just before the response commits: when the body is first written or flushed, when an error
+ * or redirect is sent, or else once the request has been handled. Bodiless responses (204, 304) get it as well as
+ * streamed ones, whose header covers the time up to the first event. Rendering the body is never part of it.
+ * Runs inside the observation filter, which starts the request's timings.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var timings = ServerHttpObservationFilter.findObservationContext(request)
+                .map(context -> (ServerTimings) context.get(ServerTimings.class))
+                .orElse(null);
+        if (timings == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        var timedResponse = new ServerTimingResponse(response, timings);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            timedResponse.writeHeader();
+        }
+    }
+
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        ServerTimingResponse(HttpServletResponse response, ServerTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        private final ServerTimings timings;
+        private boolean written;
+
+        void writeHeader() {
+            if (!written && !isCommitted()) {
+                written = true;
+                setHeader(SERVER_TIMING_HEADER, timings.header(System.nanoTime()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
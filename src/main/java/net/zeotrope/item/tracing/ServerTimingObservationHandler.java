@@ -0,0 +1,59 @@
+package net.zeotrope.item.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.lang.Nullable;
+
+/**
+ * Attributes the time of every observed stage to the HTTP request it ran for, for the Server-Timing header.
+ * <p>
+ * Each request observation carries a {@link ServerTimings}; a stage finds it by walking up its parent observations,
+ * which also works on virtual threads the context was propagated to. Stages outside any request are ignored.
+ */
+public class ServerTimingObservationHandler implements ObservationHandler<Observation.Context> {
+
+    private static final String STARTED_KEY = ServerTimingObservationHandler.class.getName() + ".started";
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ServerRequestObservationContext || ServerTimings.Stage.of(context.getName()) != null;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        var now = System.nanoTime();
+        if (context instanceof ServerRequestObservationContext) {
+            context.put(ServerTimings.class, new ServerTimings(now));
+        } else {
+            context.put(STARTED_KEY, now);
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        var stage = ServerTimings.Stage.of(context.getName());
+        Long started = context.get(STARTED_KEY);
+        if (stage == null || started == null) {
+            return;
+        }
+        var timings = findTimings(context);
+        if (timings != null) {
+            timings.record(stage, System.nanoTime() - started);
+        }
+    }
+
+    @Nullable
+    private static ServerTimings findTimings(Observation.Context context) {
+        var parent = context.getParentObservation();
+        while (parent != null) {
+            var parentContext = parent.getContextView();
+            ServerTimings timings = parentContext.get(ServerTimings.class);
+            if (timings != null) {
+                return timings;
+            }
+            parent = parentContext.getParentObservation();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,85 @@
+package net.zeotrope.item.tracing;
+
+import net.zeotrope.item.cache.TwoTierCache;
+import org.springframework.lang.Nullable;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time one request spent per stage, summed over every observation of the stage however many threads ran them.
+ * Stages nest (a cache miss loads through the service, which queries the database), so they overlap and do not
+ * add up to the application time.
+ */
+public class ServerTimings {
+
+    public enum Stage {
+        SERVICE("service", "item.service", "Item service"),
+        CACHE("cache", TwoTierCache.LOOKUP_OBSERVATION, "Cache lookups"),
+        DB("db", RepositoryObservationInterceptor.OBSERVATION, "Repository calls"),
+        SERIALIZATION("serialization", "item.serialization", "Response rendering");
+
+        Stage(String metricName, String observationName, String description) {
+            this.metricName = metricName;
+            this.observationName = observationName;
+            this.description = description;
+        }
+
+        private final String metricName;
+        private final String observationName;
+        private final String description;
+
+        @Nullable
+        public static Stage of(String observationName) {
+            for (var stage : values()) {
+                if (stage.observationName.equals(observationName)) {
+                    return stage;
+                }
+            }
+            return null;
+        }
+    }
+
+    public ServerTimings(long startedNanos) {
+        this.startedNanos = startedNanos;
+        this.stageNanos = new LongAdder[Stage.values().length];
+        for (int i = 0; i < stageNanos.length; i++) {
+            stageNanos[i] = new LongAdder();
+        }
+    }
+
+    private final long startedNanos;
+    private final LongAdder[] stageNanos;
+
+    public void record(Stage stage, long nanos) {
+        stageNanos[stage.ordinal()].add(nanos);
+    }
+
+    public long getNanos(Stage stage) {
+        return stageNanos[stage.ordinal()].sum();
+    }
+
+    /**
+     * The Server-Timing header value: every stage the request went through, then the application time up to now.
+     */
+    public String header(long nowNanos) {
+        var header = new StringBuilder();
+        for (var stage : Stage.values()) {
+            var nanos = getNanos(stage);
+            if (nanos > 0) {
+                append(header, stage.metricName, nanos, stage.description);
+            }
+        }
+        append(header, "app", nowNanos - startedNanos, "Application time");
+        return header.toString();
+    }
+
+    private static void append(StringBuilder header, String name, long nanos, String description) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name)
+                .append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1e6))
+                .append(";desc=\"").append(description).append('"');
+    }
+}
@@ -0,0 +1,3 @@
+-- Keyset pagination over (status, id), the leading status column also serves plain status filters
+create index idx_items_status_id on items(status, id);
+drop index if exists idx_items_status;
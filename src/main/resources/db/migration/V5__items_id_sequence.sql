@@ -0,0 +1,6 @@
+-- Replace the identity column with a sequence allocated in blocks of 50 so hibernate can batch inserts
+-- (pooled optimizer: each nextval is the upper bound of the block handed to the application)
+alter table items alter column id drop identity if exists;
+create sequence if not exists items_id_seq increment by 50 owned by items.id;
+select setval('items_id_seq', coalesce((select max(id) from items), 0) + 50, false);
+alter table items alter column id set default nextval('items_id_seq');
@@ -0,0 +1,35 @@
+-- Publish the ids of changed items on the items_changed channel so cached copies can be dropped,
+-- whichever client made the change. Statement level triggers with transition tables send one
+-- notification per chunk of ids rather than one per row; chunks stay below the 8000 byte payload limit.
+-- Each payload is prefixed with the application_name of the writing session and a '|', so a service
+-- that already wrote its own changes through to its caches can skip them.
+create or replace function notify_items_changed() returns trigger as $$
+declare
+    origin text := coalesce(current_setting('application_name', true), '');
+    chunk text;
+begin
+    for chunk in
+        select string_agg(id::text, ',')
+        from (select id, (row_number() over ()) / 350 as bucket from changed_items) ids
+        group by bucket
+    loop
+        perform pg_notify('items_changed', origin || '|' || chunk);
+    end loop;
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger items_changed_insert
+    after insert on items
+    referencing new table as changed_items
+    for each statement execute function notify_items_changed();
+
+create trigger items_changed_update
+    after update on items
+    referencing new table as changed_items
+    for each statement execute function notify_items_changed();
+
+create trigger items_changed_delete
+    after delete on items
+    referencing old table as changed_items
+    for each statement execute function notify_items_changed();
@@ -0,0 +1,23 @@
+-- Delta sync reads items in (last_modified_at, id) order from a cursor
+create index idx_items_last_modified_at_id on items(last_modified_at, id);
+
+-- Deleted ids are kept for a while so mirroring clients can learn about deletions incrementally
+create table item_tombstones (
+    id          bigint      primary key,
+    deleted_at  timestamptz not null default now()
+);
+create index idx_item_tombstones_deleted_at_id on item_tombstones(deleted_at, id);
+
+create or replace function record_item_tombstones() returns trigger as $$
+begin
+    insert into item_tombstones(id, deleted_at)
+    select id, now() from deleted_items
+    on conflict (id) do update set deleted_at = excluded.deleted_at;
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger items_tombstones_delete
+    after delete on items
+    referencing old table as deleted_items
+    for each statement execute function record_item_tombstones();
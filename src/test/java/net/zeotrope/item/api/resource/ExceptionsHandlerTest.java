@@ -2,7 +2,14 @@ package net.zeotrope.item.api.resource;
 
 import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import net.zeotrope.item.exceptions.InvalidStatusException;
+import net.zeotrope.item.service.ItemBulkService;
+import net.zeotrope.item.service.ItemChangeFeed;
+import net.zeotrope.item.service.ItemChangeService;
+import net.zeotrope.item.service.ItemExistenceService;
+import net.zeotrope.item.service.ItemJsonService;
 import net.zeotrope.item.service.ItemService;
+import net.zeotrope.item.service.ItemVersionService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -30,6 +37,29 @@ public class ExceptionsHandlerTest {
     @MockitoBean
     private ItemService itemService;
 
+    @MockitoBean
+    private ItemBulkService itemBulkService;
+
+    @MockitoBean
+    private ItemJsonService itemJsonService;
+
+    @MockitoBean
+    private ItemVersionService itemVersionService;
+
+    @MockitoBean
+    private ItemExistenceService itemExistenceService;
+
+    @MockitoBean
+    private ItemChangeService itemChangeService;
+
+    @MockitoBean
+    private ItemChangeFeed itemChangeFeed;
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(itemExistenceService.mightExist(Mockito.any())).thenReturn(true);
+    }
+
     @Test
     @DisplayName("should handle an internal server error exception")
     public void shouldHandleInternalServerErrorException() throws Exception {
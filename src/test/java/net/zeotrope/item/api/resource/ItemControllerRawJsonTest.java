@@ -0,0 +1,111 @@
+package net.zeotrope.item.api.resource;
+
+import net.zeotrope.item.model.ItemJson;
+import net.zeotrope.item.model.ItemVersion;
+import net.zeotrope.item.service.ItemBulkService;
+import net.zeotrope.item.service.ItemChangeFeed;
+import net.zeotrope.item.service.ItemChangeService;
+import net.zeotrope.item.service.ItemExistenceService;
+import net.zeotrope.item.service.ItemJsonService;
+import net.zeotrope.item.service.ItemService;
+import net.zeotrope.item.service.ItemVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ItemController.class, properties = "item.response.raw-json=true")
+@ActiveProfiles("test")
+public class ItemControllerRawJsonTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ItemService itemService;
+
+    @MockitoBean
+    private ItemBulkService itemBulkService;
+
+    @MockitoBean
+    private ItemJsonService itemJsonService;
+
+    @MockitoBean
+    private ItemVersionService itemVersionService;
+
+    @MockitoBean
+    private ItemExistenceService itemExistenceService;
+
+    @MockitoBean
+    private ItemChangeService itemChangeService;
+
+    @MockitoBean
+    private ItemChangeFeed itemChangeFeed;
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(itemExistenceService.mightExist(Mockito.any())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("should write the cached json bytes as the response body")
+    public void shouldWriteCachedJsonBytes() throws Exception {
+        // given
+        var json = "{\"id\":1234567890,\"status\":\"CURRENT\",\"name\":\"Title One\"}";
+        var version = new ItemVersion(1234567890L, LocalDateTime.of(2025, 1, 1, 0, 0, 0));
+
+        // when
+        Mockito.when(itemJsonService.getItemJson(1234567890L))
+                .thenReturn(new ItemJson(version, json.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        mockMvc.perform(
+                        get("/api/v1/items/1234567890")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE),
+                        content().bytes(json.getBytes(StandardCharsets.UTF_8)),
+                        jsonPath("$.id").value(1234567890L)
+                );
+
+        Mockito.verify(itemJsonService, Mockito.times(1)).getItemJson(1234567890L);
+        Mockito.verifyNoInteractions(itemService);
+    }
+
+    @Test
+    @DisplayName("should send the validators cached with the json it serves")
+    public void shouldSendValidatorsOfCachedJson() throws Exception {
+        // given
+        var json = "{\"id\":1234567890,\"status\":\"CURRENT\",\"lastModifiedAt\":\"2025-01-01T00:05:00\"}";
+        var served = new ItemVersion(1234567890L, LocalDateTime.of(2025, 1, 1, 0, 5, 0));
+
+        // when
+        Mockito.when(itemJsonService.getItemJson(1234567890L))
+                .thenReturn(new ItemJson(served, json.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        mockMvc.perform(
+                        get("/api/v1/items/1234567890")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(HttpHeaders.ETAG, "\"" + served.eTag() + "\""),
+                        header().dateValue(HttpHeaders.LAST_MODIFIED, served.lastModifiedMillis()),
+                        content().bytes(json.getBytes(StandardCharsets.UTF_8))
+                );
+    }
+}
@@ -3,15 +3,28 @@ package net.zeotrope.item.api.resource;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.zeotrope.item.domain.Item;
 import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.exceptions.ChangeCursorExpiredException;
 import net.zeotrope.item.exceptions.ItemNotFoundException;
 import net.zeotrope.item.mapper.ItemMapper;
+import net.zeotrope.item.model.ItemChanges;
 import net.zeotrope.item.model.ItemDto;
+import net.zeotrope.item.model.ItemPage;
+import net.zeotrope.item.model.ItemStatusUpdateDto;
+import net.zeotrope.item.model.ItemVersion;
+import net.zeotrope.item.service.ItemBulkService;
+import net.zeotrope.item.service.ItemChangeFeed;
+import net.zeotrope.item.service.ItemChangeService;
+import net.zeotrope.item.service.ItemExistenceService;
+import net.zeotrope.item.service.ItemJsonService;
 import net.zeotrope.item.service.ItemService;
+import net.zeotrope.item.service.ItemVersionService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -19,6 +32,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -37,9 +51,32 @@ public class ItemControllerTest {
     @MockitoBean
     private ItemService itemService;
 
+    @MockitoBean
+    private ItemBulkService itemBulkService;
+
+    @MockitoBean
+    private ItemJsonService itemJsonService;
+
+    @MockitoBean
+    private ItemVersionService itemVersionService;
+
+    @MockitoBean
+    private ItemExistenceService itemExistenceService;
+
+    @MockitoBean
+    private ItemChangeService itemChangeService;
+
+    @MockitoBean
+    private ItemChangeFeed itemChangeFeed;
+
     private LocalDateTime createdDate = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
     private LocalDateTime discontinuedDate = LocalDateTime.of(2025, 6, 30, 0, 0, 0);
 
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(itemExistenceService.mightExist(Mockito.any())).thenReturn(true);
+    }
+
     @Test
     @DisplayName("should return 200 when get all items")
     public void shouldReturn200GetAllItems() throws Exception {
@@ -75,17 +112,18 @@ public class ItemControllerTest {
         );
 
         // when
-        Mockito.when(itemService.getAllItems(Mockito.any())).thenReturn(items);
+        Mockito.when(itemService.getItemPage(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(new ItemPage(items, null));
 
         // then
         mockMvc.perform(get("/api/v1/items").accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().doesNotExist(ItemController.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$[0].id").value(1234567890))
                 .andExpect(jsonPath("$[1].id").value(1234567891))
                 .andExpect(jsonPath("$[2].id").value(1234567892));
 
-        Mockito.verify(itemService, Mockito.times(1)).getAllItems(Mockito.any());
+        Mockito.verify(itemService, Mockito.times(1)).getItemPage(Mockito.any(), Mockito.any(), Mockito.any());
     }
 
     @Test
@@ -104,7 +142,7 @@ public class ItemControllerTest {
                 )
         );
         // when
-        Mockito.when(itemService.getAllItems(Mockito.any())).thenReturn(items);
+        Mockito.when(itemService.getItemPage(Mockito.eq(ItemStatus.CURRENT), Mockito.any(), Mockito.any())).thenReturn(new ItemPage(items, null));
 
         // then
         mockMvc.perform(
@@ -118,7 +156,105 @@ public class ItemControllerTest {
                         jsonPath("$[0].id").value(1234567890L)
                 );
 
-        Mockito.verify(itemService, Mockito.times(1)).getAllItems(Mockito.any());
+        Mockito.verify(itemService, Mockito.times(1)).getItemPage(Mockito.eq(ItemStatus.CURRENT), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("should return 200 with a continuation cursor when more items follow")
+    public void shouldReturn200WithNextCursor() throws Exception {
+        // given
+        var items = List.of(
+                new Item(
+                        1234567890L,
+                        ItemStatus.CURRENT,
+                        "Title One",
+                        "Summary One",
+                        createdDate,
+                        createdDate,
+                        null
+                )
+        );
+
+        // when
+        Mockito.when(itemService.getItemPage(Mockito.any(), Mockito.eq("abc"), Mockito.eq(1))).thenReturn(new ItemPage(items, "def"));
+
+        // then
+        mockMvc.perform(
+                        get("/api/v1/items")
+                                .param("cursor", "abc")
+                                .param("limit", "1")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(ItemController.NEXT_CURSOR_HEADER, "def"),
+                        jsonPath("$.length()").value(1),
+                        jsonPath("$[0].id").value(1234567890L)
+                );
+    }
+
+    @Test
+    @DisplayName("should return 200 when get items by ids")
+    public void shouldReturn200ForItemsByIds() throws Exception {
+        // given
+        var items = List.of(
+                new Item(1L, ItemStatus.CURRENT, "Title One", "Summary One", createdDate, createdDate, null),
+                new Item(2L, ItemStatus.CURRENT, "Title Two", "Summary Two", createdDate, createdDate, null)
+        );
+
+        // when
+        Mockito.when(itemService.getItems(List.of(1L, 2L))).thenReturn(items);
+
+        // then
+        mockMvc.perform(
+                        get("/api/v1/items")
+                                .param("ids", "1,2")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.length()").value(2),
+                        jsonPath("$[0].id").value(1L),
+                        jsonPath("$[1].id").value(2L)
+                );
+
+        Mockito.verify(itemService, Mockito.times(1)).getItems(List.of(1L, 2L));
+        Mockito.verify(itemService, Mockito.never()).getItemPage(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("should stream all items as newline delimited json when exporting")
+    @SuppressWarnings("unchecked")
+    public void shouldStreamItemsAsNdJson() throws Exception {
+        // given
+        var items = List.of(
+                new Item(1L, ItemStatus.CURRENT, "Title One", "Summary One", createdDate, createdDate, null),
+                new Item(2L, ItemStatus.DISCONTINUED, "Title Two", "Summary Two", createdDate, createdDate, discontinuedDate)
+        );
+
+        // when
+        Mockito.doAnswer(invocation -> {
+            items.forEach(invocation.getArgument(0, Consumer.class));
+            return null;
+        }).when(itemService).exportItems(Mockito.any());
+
+        var result = mockMvc.perform(get("/api/v1/items/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        var actual = mockMvc.perform(asyncDispatch(result))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE)
+                )
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .split("\n");
+
+        assertEquals(2, actual.length);
+        assertEquals(1L, objectMapper.readValue(actual[0], Item.class).getId());
+        assertEquals(2L, objectMapper.readValue(actual[1], Item.class).getId());
+        Mockito.verify(itemService, Mockito.times(1)).exportItems(Mockito.any());
     }
 
     @Test
@@ -156,6 +292,7 @@ public class ItemControllerTest {
                 );
 
         Mockito.verify(itemService, Mockito.times(1)).get(Mockito.anyLong());
+        Mockito.verifyNoInteractions(itemVersionService);
     }
 
     @Test
@@ -176,6 +313,155 @@ public class ItemControllerTest {
                 );
     }
 
+    @Test
+    @DisplayName("should return 404 without any lookup when the item id filter rules the id out")
+    public void shouldReturn404ForFilteredId() throws Exception {
+        // given
+        // when
+        Mockito.when(itemExistenceService.mightExist(1234567890L)).thenReturn(false);
+
+        // then
+        mockMvc.perform(
+                        get("/api/v1/items/1234567890")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+
+        Mockito.verifyNoInteractions(itemService, itemJsonService, itemVersionService);
+    }
+
+    @Test
+    @DisplayName("should return 304 without loading the item when the entity tag matches")
+    public void shouldReturn304ForUnchangedItem() throws Exception {
+        // given
+        var version = new ItemVersion(1234567890L, createdDate);
+
+        // when
+        Mockito.when(itemVersionService.getEpochMicros(1234567890L)).thenReturn(version.epochMicros());
+
+        // then
+        mockMvc.perform(
+                        get("/api/v1/items/1234567890")
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"" + version.eTag() + "\"")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isNotModified(),
+                        header().string(HttpHeaders.ETAG, "\"" + version.eTag() + "\""),
+                        content().string("")
+                );
+
+        Mockito.verify(itemService, Mockito.never()).get(Mockito.anyLong());
+    }
+
+    @Test
+    @DisplayName("should return 200 with validators when the item changed since the entity tag")
+    public void shouldReturn200ForChangedItem() throws Exception {
+        // given
+        var modifiedDate = createdDate.plusMinutes(5);
+        var item = new Item(1234567890L, ItemStatus.CURRENT, "Title One", "Summary One", createdDate, modifiedDate, null);
+        var previous = new ItemVersion(1234567890L, createdDate);
+        var current = ItemVersion.of(item);
+
+        // when
+        Mockito.when(itemVersionService.getEpochMicros(1234567890L)).thenReturn(current.epochMicros());
+        Mockito.when(itemService.get(1234567890L)).thenReturn(item);
+
+        // then
+        mockMvc.perform(
+                        get("/api/v1/items/1234567890")
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"" + previous.eTag() + "\"")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(HttpHeaders.ETAG, "\"" + current.eTag() + "\""),
+                        header().exists(HttpHeaders.LAST_MODIFIED),
+                        jsonPath("$.id").value(1234567890L)
+                );
+    }
+
+    @Test
+    @DisplayName("should send the validators of the served item when the cached version is behind it")
+    public void shouldSendValidatorsOfServedItem() throws Exception {
+        // given
+        var modifiedDate = createdDate.plusMinutes(5);
+        var item = new Item(1234567890L, ItemStatus.CURRENT, "Title One", "Summary One", createdDate, modifiedDate, null);
+        var cached = new ItemVersion(1234567890L, createdDate);
+        var served = ItemVersion.of(item);
+
+        // when
+        Mockito.when(itemVersionService.getEpochMicros(1234567890L)).thenReturn(cached.epochMicros());
+        Mockito.when(itemService.get(1234567890L)).thenReturn(item);
+
+        // then
+        mockMvc.perform(
+                        get("/api/v1/items/1234567890")
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"1234567890-0\"")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(HttpHeaders.ETAG, "\"" + served.eTag() + "\""),
+                        header().dateValue(HttpHeaders.LAST_MODIFIED, served.lastModifiedMillis() / 1000 * 1000),
+                        jsonPath("$.lastModifiedAt").value("2025-01-01T00:05:00")
+                );
+    }
+
+    @Test
+    @DisplayName("should return 304 for a page when the list version is unchanged")
+    public void shouldReturn304ForUnchangedPage() throws Exception {
+        // given
+        // when
+        Mockito.when(itemService.getListVersion()).thenReturn(42L);
+
+        // then
+        mockMvc.perform(
+                        get("/api/v1/items")
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"items-42\"")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+
+        Mockito.verify(itemService, Mockito.never()).getItemPage(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("should return 200 with the items changed and deleted after the cursor")
+    public void shouldReturn200ForItemChanges() throws Exception {
+        // given
+        var item = new Item(1234567890L, ItemStatus.CURRENT, "Title One", "Summary One", createdDate, createdDate, null);
+        var changes = new ItemChanges(List.of(item), List.of(1234567891L), "next", false);
+
+        // when
+        Mockito.when(itemChangeService.getChanges("since", 50)).thenReturn(changes);
+
+        // then
+        mockMvc.perform(
+                        get("/api/v1/items/changes")
+                                .param("since", "since")
+                                .param("limit", "50")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.items[0].id").value(1234567890L),
+                        jsonPath("$.deletedIds[0]").value(1234567891L),
+                        jsonPath("$.cursor").value("next"),
+                        jsonPath("$.hasMore").value(false)
+                );
+    }
+
+    @Test
+    @DisplayName("should return 410 when the change cursor has expired")
+    public void shouldReturn410ForExpiredChangeCursor() throws Exception {
+        // given
+        // when
+        Mockito.when(itemChangeService.getChanges(Mockito.any(), Mockito.any()))
+                .thenThrow(new ChangeCursorExpiredException("Test Error"));
+
+        // then
+        mockMvc.perform(
+                        get("/api/v1/items/changes")
+                                .param("since", "since")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isGone());
+    }
+
     @Test
     @DisplayName("should return 201 when create item")
     public void shouldReturn201CreateItem() throws Exception {
@@ -207,6 +493,37 @@ public class ItemControllerTest {
         Mockito.verify(itemService, Mockito.times(1)).createItem(Mockito.any());
     }
 
+    @Test
+    @DisplayName("should return 201 when bulk create items")
+    public void shouldReturn201BulkCreateItems() throws Exception {
+        // given
+        var itemDtos = List.of(
+                new ItemDto("Title One", ItemStatus.CURRENT, "Summary One"),
+                new ItemDto("Title Two", ItemStatus.CURRENT, "Summary Two")
+        );
+        var items = List.of(
+                new Item(1L, ItemStatus.CURRENT, "Title One", "Summary One", createdDate, createdDate, null),
+                new Item(2L, ItemStatus.CURRENT, "Title Two", "Summary Two", createdDate, createdDate, null)
+        );
+
+        // when
+        Mockito.when(itemBulkService.createItems(itemDtos)).thenReturn(items);
+
+        // then
+        mockMvc.perform(
+                        post("/api/v1/items/bulk")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(itemDtos)))
+                .andExpectAll(
+                        status().isCreated(),
+                        jsonPath("$.length()").value(2),
+                        jsonPath("$[1].id").value(2L)
+                );
+
+        Mockito.verify(itemBulkService, Mockito.times(1)).createItems(itemDtos);
+    }
+
     @Test
     @DisplayName("should return 204 when update item")
     public void shouldReturn204UpdateItem() throws Exception {
@@ -309,6 +626,34 @@ public class ItemControllerTest {
         Mockito.verify(itemService, Mockito.times(1)).updateItemStatus(Mockito.anyLong(), Mockito.any(ItemStatus.class));
     }
 
+    @Test
+    @DisplayName("should return 200 with the updated items when bulk updating item status")
+    public void shouldReturn200BulkUpdateItemStatus() throws Exception {
+        // given
+        var statusUpdate = new ItemStatusUpdateDto(List.of(1L, 2L), ItemStatus.DISCONTINUED);
+        var updatedItems = List.of(
+                new Item(1L, ItemStatus.DISCONTINUED, "Title One", "Summary One", createdDate, discontinuedDate, discontinuedDate),
+                new Item(2L, ItemStatus.DISCONTINUED, "Title Two", "Summary Two", createdDate, discontinuedDate, discontinuedDate)
+        );
+
+        // when
+        Mockito.when(itemBulkService.updateItemStatus(List.of(1L, 2L), ItemStatus.DISCONTINUED)).thenReturn(updatedItems);
+
+        // then
+        mockMvc.perform(
+                        put("/api/v1/items/status")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(statusUpdate)))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.length()").value(2),
+                        jsonPath("$[0].status").value("DISCONTINUED")
+                );
+
+        Mockito.verify(itemBulkService, Mockito.times(1)).updateItemStatus(List.of(1L, 2L), ItemStatus.DISCONTINUED);
+    }
+
     @Test
     @DisplayName("should return 204 when successful delete item")
     public void shouldReturn204WhenDeleteItem() throws Exception {
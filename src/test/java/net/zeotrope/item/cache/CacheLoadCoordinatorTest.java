@@ -0,0 +1,51 @@
+package net.zeotrope.item.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheLoadCoordinatorTest {
+
+    private CacheLoadLease lease;
+    private CacheLoadCoordinator coordinator;
+
+    @BeforeEach
+    public void setUp() {
+        lease = Mockito.mock(CacheLoadLease.class);
+        coordinator = new CacheLoadCoordinator(new SingleFlight(), lease, Duration.ofSeconds(5), Duration.ofMillis(1));
+    }
+
+    @Test
+    @DisplayName("should take over the lease and load as soon as the holder's lease is gone")
+    public void shouldLoadWhenLeaseIsGone() throws Exception {
+        // given
+        Mockito.when(lease.tryAcquire("1")).thenReturn(false, true);
+        Mockito.when(lease.isHeld("1")).thenReturn(false);
+
+        // when
+        var actual = coordinator.load("1", () -> null, () -> "value", value -> { });
+
+        // then
+        assertEquals("value", actual);
+        Mockito.verify(lease).release("1");
+    }
+
+    @Test
+    @DisplayName("should release the lease when the load fails")
+    public void shouldReleaseLeaseOnFailedLoad() {
+        // given
+        Mockito.when(lease.tryAcquire("1")).thenReturn(true);
+
+        // when
+        // then
+        assertThrows(IllegalStateException.class, () -> coordinator.load("1", () -> null, () -> {
+            throw new IllegalStateException("database unavailable");
+        }, value -> { }));
+        Mockito.verify(lease).release("1");
+    }
+}
@@ -0,0 +1,101 @@
+package net.zeotrope.item.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(
+            "redis", 10, 4, 0.5, Duration.ofMillis(100), Duration.ofSeconds(5), 2, clock::get);
+
+    @Test
+    @DisplayName("should open after the failure rate threshold and skip calls while open")
+    public void shouldOpenOnFailuresAndSkipCalls() {
+        // given
+        var calls = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.call(() -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("connection refused");
+            }, () -> null);
+        }
+        var actual = circuitBreaker.call(() -> {
+            calls.incrementAndGet();
+            return "remote";
+        }, () -> "fallback");
+
+        // then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals("fallback", actual);
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    @DisplayName("should count slow calls as failures")
+    public void shouldOpenOnSlowCalls() {
+        // given
+        // when
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.call(() -> {
+                clock.addAndGet(Duration.ofMillis(200).toNanos());
+                return "slow";
+            }, () -> null);
+        }
+
+        // then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("should close again after successful probes once the open duration has passed")
+    public void shouldCloseAfterSuccessfulProbes() {
+        // given
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.run(() -> {
+                throw new IllegalStateException("connection refused");
+            }, () -> {});
+        }
+
+        // when
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        circuitBreaker.call(() -> "probe", () -> null);
+        var halfOpen = circuitBreaker.getState();
+        circuitBreaker.call(() -> "probe", () -> null);
+
+        // then
+        assertEquals(CircuitBreaker.State.HALF_OPEN, halfOpen);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("should delete keys written while open once the circuit closes")
+    public void shouldReplaySkippedWritesOnClose() {
+        // given
+        var delegate = Mockito.mock(RedisCacheWriter.class);
+        var cacheWriter = new CircuitBreakingRedisCacheWriter(delegate, circuitBreaker, 100);
+        Mockito.doThrow(new IllegalStateException("connection refused"))
+                .when(delegate).get(Mockito.anyString(), Mockito.any(), Mockito.any());
+        for (int i = 0; i < 4; i++) {
+            cacheWriter.get("items", new byte[] {1}, null);
+        }
+
+        // when
+        cacheWriter.put("items", "items::1".getBytes(), new byte[] {1}, null);
+        cacheWriter.replaySkippedWrites();
+
+        // then
+        Mockito.verify(delegate, Mockito.never()).put(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verify(delegate, Mockito.times(1)).remove("items", "items::1".getBytes());
+    }
+}
@@ -0,0 +1,91 @@
+package net.zeotrope.item.cache;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecordingRedisCacheWriterTest {
+
+    private static final String EVENT_NAME = "net.zeotrope.item.CacheOperation";
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("should record a cache operation event with the key, hit and value size of a get")
+    public void shouldRecordCacheGet() throws Exception {
+        // given
+        var delegate = Mockito.mock(RedisCacheWriter.class);
+        var key = "items::1".getBytes(StandardCharsets.UTF_8);
+        var value = new byte[42];
+        Mockito.when(delegate.get("items", key, null)).thenReturn(value);
+        var writer = new FlightRecordingRedisCacheWriter(delegate);
+        var file = tempDir.resolve("cache.jfr");
+
+        // when
+        try (var recording = new Recording()) {
+            recording.enable(EVENT_NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            writer.get("items", key, null);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // then
+        var events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+                .toList();
+        assertEquals(1, events.size());
+        var event = events.getFirst();
+        assertAll(
+                () -> assertEquals("items", event.getString("cache")),
+                () -> assertEquals("get", event.getString("operation")),
+                () -> assertEquals("items::1", event.getString("key")),
+                () -> assertTrue(event.getBoolean("hit")),
+                () -> assertEquals(42L, event.getLong("valueSize"))
+        );
+    }
+
+    @Test
+    @DisplayName("should record a failed cache operation with the exception it failed with")
+    public void shouldRecordFailedCacheOperation() throws Exception {
+        // given
+        var delegate = Mockito.mock(RedisCacheWriter.class);
+        var key = "items::1".getBytes(StandardCharsets.UTF_8);
+        var value = new byte[42];
+        Mockito.doThrow(new RedisConnectionFailureException("redis unavailable")).when(delegate).put("items", key, value, null);
+        var writer = new FlightRecordingRedisCacheWriter(delegate);
+        var file = tempDir.resolve("cache.jfr");
+
+        // when
+        try (var recording = new Recording()) {
+            recording.enable(EVENT_NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            assertThrows(RedisConnectionFailureException.class, () -> writer.put("items", key, value, null));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // then
+        var events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+                .toList();
+        assertEquals(1, events.size());
+        var event = events.getFirst();
+        assertAll(
+                () -> assertEquals("put", event.getString("operation")),
+                () -> assertEquals(RedisConnectionFailureException.class.getName(), event.getString("exception"))
+        );
+    }
+}
@@ -0,0 +1,57 @@
+package net.zeotrope.item.cache;
+
+import net.zeotrope.item.model.ItemJson;
+import net.zeotrope.item.model.ItemVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemJsonRedisSerializerTest {
+
+    private final ItemJsonRedisSerializer serializer = new ItemJsonRedisSerializer();
+    private final byte[] body = "{\"id\":1234567890,\"status\":\"CURRENT\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("should round trip a response body with its validators")
+    public void shouldRoundTripBodyWithValidators() {
+        // given
+        var version = new ItemVersion(1234567890L, LocalDateTime.of(2025, 6, 30, 12, 30, 15, 123456000));
+
+        // when
+        var actual = serializer.deserialize(serializer.serialize(new ItemJson(version, body)));
+
+        // then
+        assertNotNull(actual);
+        assertEquals(version, actual.version());
+        assertArrayEquals(body, actual.body());
+    }
+
+    @Test
+    @DisplayName("should round trip an item without a modification time")
+    public void shouldRoundTripWithoutModificationTime() {
+        // given
+        var version = new ItemVersion(1234567890L, null);
+
+        // when
+        var actual = serializer.deserialize(serializer.serialize(new ItemJson(version, body)));
+
+        // then
+        assertNotNull(actual);
+        assertEquals(-1L, actual.version().lastModifiedMillis());
+    }
+
+    @Test
+    @DisplayName("should read a body cached without validators as a miss")
+    public void shouldReadBodyWithoutValidatorsAsMiss() {
+        // given
+        // when
+        var actual = serializer.deserialize(body);
+
+        // then
+        assertNull(actual);
+    }
+}
@@ -0,0 +1,69 @@
+package net.zeotrope.item.cache;
+
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemTtlPolicyTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0, 0);
+    private final Clock clock = Clock.fixed(Instant.from(now.atOffset(ZoneOffset.UTC)), ZoneOffset.UTC);
+
+    private final ItemTtlPolicy policy = new ItemTtlPolicy(
+            Duration.ofMinutes(10),
+            Map.of(ItemStatus.CURRENT, Duration.ofMinutes(5), ItemStatus.DISCONTINUED, Duration.ofHours(6)),
+            Duration.ofDays(1),
+            Duration.ofHours(1),
+            clock
+    );
+
+    @Test
+    @DisplayName("should pick the ttl configured for the status of the cached item")
+    public void shouldPickTtlByStatus() {
+        // given
+        var current = new Item(1L, ItemStatus.CURRENT, "test", "test", now, now, null);
+        var discontinued = new Item(2L, ItemStatus.DISCONTINUED, "test", "test", now, now, now);
+
+        // when
+        // then
+        assertAll(
+                () -> assertEquals(Duration.ofMinutes(5), policy.getTimeToLive(1L, current)),
+                () -> assertEquals(Duration.ofHours(6), policy.getTimeToLive(2L, discontinued))
+        );
+    }
+
+    @Test
+    @DisplayName("should extend the ttl of items that have not been modified recently")
+    public void shouldExtendTtlOfStableItems() {
+        // given
+        var stale = now.minusDays(2);
+        var current = new Item(1L, ItemStatus.CURRENT, "test", "test", stale, stale, null);
+        var discontinued = new Item(2L, ItemStatus.DISCONTINUED, "test", "test", stale, stale, stale);
+
+        // when
+        // then
+        assertAll(
+                () -> assertEquals(Duration.ofHours(1), policy.getTimeToLive(1L, current)),
+                () -> assertEquals(Duration.ofHours(6), policy.getTimeToLive(2L, discontinued))
+        );
+    }
+
+    @Test
+    @DisplayName("should use the default ttl for values that are not items")
+    public void shouldUseDefaultTtlForOtherValues() {
+        // given
+        // when
+        // then
+        assertEquals(Duration.ofMinutes(10), policy.getTimeToLive(1L, new byte[] {1}));
+    }
+}
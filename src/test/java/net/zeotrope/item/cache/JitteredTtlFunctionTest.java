@@ -0,0 +1,42 @@
+package net.zeotrope.item.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JitteredTtlFunctionTest {
+
+    private final JitteredTtlFunction ttlFunction = new JitteredTtlFunction((key, value) -> Duration.ofMinutes(10), 0.1);
+
+    @Test
+    @DisplayName("should spread the ttls of keys written together within the jitter bounds")
+    public void shouldSpreadTtlsWithinBounds() {
+        // given
+        var ttls = LongStream.rangeClosed(1, 1000)
+                .mapToObj(key -> ttlFunction.getTimeToLive(key, null))
+                .toList();
+
+        // when
+        var distinct = ttls.stream().distinct().count();
+
+        // then
+        assertAll(
+                () -> assertTrue(ttls.stream().allMatch(ttl -> ttl.compareTo(Duration.ofMinutes(9)) >= 0)),
+                () -> assertTrue(ttls.stream().allMatch(ttl -> ttl.compareTo(Duration.ofMinutes(11)) <= 0)),
+                () -> assertTrue(distinct > 900, String.format("only %d distinct ttls", distinct))
+        );
+    }
+
+    @Test
+    @DisplayName("should give the same key the same ttl on every node")
+    public void shouldBeStablePerKey() {
+        // given
+        // when
+        // then
+        assertEquals(ttlFunction.getTimeToLive(42L, null), ttlFunction.getTimeToLive("42", null));
+    }
+}
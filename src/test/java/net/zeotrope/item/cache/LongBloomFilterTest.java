@@ -0,0 +1,47 @@
+package net.zeotrope.item.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongBloomFilterTest {
+
+    @Test
+    @DisplayName("should report every inserted key as possibly present")
+    public void shouldContainInsertedKeys() {
+        // given
+        var filter = LongBloomFilter.create(10_000, 0.01);
+
+        // when
+        LongStream.rangeClosed(1, 10_000).forEach(filter::put);
+
+        // then
+        assertTrue(LongStream.rangeClosed(1, 10_000).allMatch(filter::mightContain));
+    }
+
+    @Test
+    @DisplayName("should keep the false positive rate near the configured rate for sequential ids")
+    public void shouldKeepFalsePositiveRateNearTarget() {
+        // given
+        var filter = LongBloomFilter.create(10_000, 0.01);
+        LongStream.rangeClosed(1, 10_000).forEach(filter::put);
+
+        // when
+        var falsePositives = LongStream.rangeClosed(10_001, 110_000).filter(filter::mightContain).count();
+
+        // then
+        assertTrue(falsePositives < 2_000, String.format("%d false positives in 100000 lookups", falsePositives));
+    }
+
+    @Test
+    @DisplayName("should reject a false positive rate outside (0, 1)")
+    public void shouldRejectInvalidFalsePositiveRate() {
+        // given
+        // when
+        // then
+        assertThrows(IllegalArgumentException.class, () -> LongBloomFilter.create(100, 1.0));
+    }
+}
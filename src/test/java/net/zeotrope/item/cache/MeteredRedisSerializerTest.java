@@ -0,0 +1,35 @@
+package net.zeotrope.item.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MeteredRedisSerializerTest {
+
+    @Test
+    @DisplayName("should record the encoded size of values written and read")
+    public void shouldRecordValueSizes() {
+        // given
+        var registry = new SimpleMeterRegistry();
+        var serializer = new MeteredRedisSerializer<>(RedisSerializer.byteArray(), "items-json", registry);
+        var value = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        var actual = serializer.deserialize(serializer.serialize(value));
+
+        // then
+        var written = registry.get("cache.value.size").tags("cache", "items-json", "operation", "serialize").summary();
+        var read = registry.get("cache.value.size").tags("cache", "items-json", "operation", "deserialize").summary();
+        assertAll(
+                () -> assertArrayEquals(value, actual),
+                () -> assertEquals(1, written.count()),
+                () -> assertEquals(value.length, written.totalAmount()),
+                () -> assertEquals(1, read.count())
+        );
+    }
+}
@@ -0,0 +1,68 @@
+package net.zeotrope.item.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    @Test
+    @DisplayName("should run the loader once for concurrent callers of the same key")
+    public void shouldCoalesceConcurrentLoads() throws Exception {
+        // given
+        var singleFlight = new SingleFlight();
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var callers = 50;
+
+        // when
+        var results = new ArrayList<Future<String>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("1", () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "value";
+                })));
+            }
+            while (singleFlight.inFlightCount() == 0) {
+                Thread.onSpinWait();
+            }
+            Thread.sleep(100);
+            release.countDown();
+        }
+
+        // then
+        assertEquals(1, loads.get());
+        for (var result : results) {
+            assertEquals("value", result.get());
+        }
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("should propagate the loader failure and clear the flight")
+    public void shouldPropagateLoaderFailure() {
+        // given
+        var singleFlight = new SingleFlight();
+
+        // when
+        var actual = assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute("1", () -> {
+                    throw new IllegalStateException("database unavailable");
+                })
+        );
+
+        // then
+        assertEquals("database unavailable", actual.getMessage());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+}
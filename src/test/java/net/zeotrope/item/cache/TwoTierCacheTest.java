@@ -0,0 +1,370 @@
+package net.zeotrope.item.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TwoTierCacheTest {
+
+    private static final String CACHE_NAME = "items";
+
+    private ConcurrentMapCache remote;
+    private CacheInvalidationPublisher publisher;
+    private TwoTierCache cache;
+
+    private final LocalDateTime dateTime = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+    private final Item item = new Item(1L, ItemStatus.CURRENT, "test", "test", dateTime, dateTime, null);
+
+    @BeforeEach
+    public void setUp() {
+        remote = new ConcurrentMapCache(CACHE_NAME, false);
+        publisher = Mockito.mock(CacheInvalidationPublisher.class);
+        cache = builder().local(Caffeine.newBuilder().maximumSize(100).build()).build();
+    }
+
+    @Test
+    @DisplayName("should serve a near cache hit without reading the remote cache")
+    public void shouldServeNearCacheHitWithoutRemote() {
+        // given
+        cache.put(1L, item);
+        remote.clear();
+
+        // when
+        var actual = cache.get(1L, Item.class);
+
+        // then
+        assertEquals(item, actual);
+    }
+
+    @Test
+    @DisplayName("should populate the near cache from a remote cache hit")
+    public void shouldPopulateNearCacheFromRemote() {
+        // given
+        remote.put(1L, item);
+
+        // when
+        var first = cache.get(1L, Item.class);
+        remote.clear();
+        var second = cache.get(1L, Item.class);
+
+        // then
+        assertAll(
+                () -> assertEquals(item, first),
+                () -> assertEquals(item, second)
+        );
+    }
+
+    @Test
+    @DisplayName("should broadcast an invalidation when an entry is put or evicted")
+    public void shouldBroadcastInvalidationOnPutAndEvict() {
+        // given
+        // when
+        cache.put(1L, item);
+        cache.evict(1L);
+
+        // then
+        assertNull(cache.get(1L));
+        Mockito.verify(publisher, Mockito.times(2)).publishEvict(CACHE_NAME, List.of("1"));
+    }
+
+    @Test
+    @DisplayName("should drop only the near cache entry when invalidated by another node")
+    public void shouldDropNearCacheEntryOnRemoteInvalidation() {
+        // given
+        cache.put(1L, item);
+        remote.put(1L, new Item(1L, ItemStatus.DISCONTINUED, "test", "test", dateTime, dateTime, dateTime));
+
+        // when
+        cache.invalidateLocal(List.of("1"));
+        var actual = cache.get(1L, Item.class);
+
+        // then
+        assertNotNull(actual);
+        assertEquals(ItemStatus.DISCONTINUED, actual.getStatus());
+    }
+
+    @Test
+    @DisplayName("should drop a near cache fill read before an invalidation")
+    public void shouldDropNearCacheFillThatRacedInvalidation() {
+        // given
+        var generation = cache.localGeneration("1");
+        cache.invalidateLocal(List.of("1"));
+
+        // when
+        cache.putLocal("1", item, generation);
+        remote.put(1L, new Item(1L, ItemStatus.DISCONTINUED, "test", "test", dateTime, dateTime, dateTime));
+        var actual = cache.get(1L, Item.class);
+
+        // then
+        assertNotNull(actual);
+        assertEquals(ItemStatus.DISCONTINUED, actual.getStatus());
+    }
+
+    @Test
+    @DisplayName("should round trip an invalidation message")
+    public void shouldRoundTripInvalidationMessage() {
+        // given
+        var message = new CacheInvalidationMessage("node-1", CACHE_NAME, List.of("1", "2"));
+
+        // when
+        var actual = CacheInvalidationMessage.decode(message.encode());
+
+        // then
+        assertEquals(message, actual);
+        assertTrue(CacheInvalidationMessage.decode(new CacheInvalidationMessage("node-1", CACHE_NAME, List.of()).encode()).isClear());
+    }
+
+    @Test
+    @DisplayName("should reload an entry in the background when it is read close to its expiry")
+    public void shouldRefreshEntryAheadOfExpiry() {
+        // given
+        var clock = new AtomicLong();
+        var refreshAhead = new RefreshAhead((key, value) -> Duration.ofSeconds(60), 1.0, 100, Runnable::run, clock::get);
+        var refreshingCache = builder().refreshAhead(refreshAhead).build();
+        var loads = new AtomicInteger();
+        var discontinued = new Item(1L, ItemStatus.DISCONTINUED, "test", "test", dateTime, dateTime, dateTime);
+
+        // when
+        refreshingCache.get(1L, () -> {
+            loads.incrementAndGet();
+            Thread.sleep(1);
+            return item;
+        });
+        clock.set(Duration.ofSeconds(30).toNanos());
+        var early = refreshingCache.get(1L, () -> {
+            loads.incrementAndGet();
+            return discontinued;
+        });
+        clock.set(Duration.ofSeconds(60).toNanos());
+        var nearExpiry = refreshingCache.get(1L, () -> {
+            loads.incrementAndGet();
+            return discontinued;
+        });
+
+        // then
+        assertAll(
+                () -> assertEquals(item, early),
+                () -> assertEquals(item, nearExpiry),
+                () -> assertEquals(2, loads.get()),
+                () -> assertEquals(discontinued, remote.get(1L, Item.class))
+        );
+    }
+
+    @Test
+    @DisplayName("should not let a refresh overwrite a value written while it was loading")
+    public void shouldNotOverwriteConcurrentWriteOnRefresh() {
+        // given
+        var clock = new AtomicLong();
+        var refreshAhead = new RefreshAhead((key, value) -> Duration.ofSeconds(60), 1.0, 100, Runnable::run, clock::get);
+        var refreshingCache = builder().refreshAhead(refreshAhead).build();
+        var written = new Item(1L, ItemStatus.DISCONTINUED, "written", "test", dateTime, dateTime, dateTime);
+        var refreshed = new Item(1L, ItemStatus.DISCONTINUED, "refreshed", "test", dateTime, dateTime, dateTime);
+        refreshingCache.get(1L, () -> {
+            Thread.sleep(1);
+            return item;
+        });
+
+        // when
+        clock.set(Duration.ofSeconds(60).toNanos());
+        refreshingCache.get(1L, () -> {
+            remote.put(1L, written);
+            return refreshed;
+        });
+
+        // then
+        assertEquals(written, remote.get(1L, Item.class));
+    }
+
+    @Test
+    @DisplayName("should not broadcast a refresh that reloaded an unchanged value")
+    public void shouldNotBroadcastUnchangedRefresh() {
+        // given
+        var clock = new AtomicLong();
+        var refreshAhead = new RefreshAhead((key, value) -> Duration.ofSeconds(60), 1.0, 100, Runnable::run, clock::get);
+        var refreshingCache = builder().refreshAhead(refreshAhead).build();
+        var loads = new AtomicInteger();
+        refreshingCache.get(1L, () -> {
+            loads.incrementAndGet();
+            Thread.sleep(1);
+            return item;
+        });
+        Mockito.clearInvocations(publisher);
+
+        // when
+        clock.set(Duration.ofSeconds(60).toNanos());
+        refreshingCache.get(1L, () -> {
+            loads.incrementAndGet();
+            return item;
+        });
+
+        // then
+        assertEquals(2, loads.get());
+        Mockito.verifyNoInteractions(publisher);
+    }
+
+    @Test
+    @DisplayName("should serve the stale value when a load overruns its latency budget")
+    public void shouldServeStaleValueWhenLoadIsSlow() {
+        // given
+        var staleCache = staleCache();
+        staleCache.put(1L, item);
+        remote.clear();
+        StaleReads.consume();
+
+        // when
+        var started = System.nanoTime();
+        var actual = staleCache.get(1L, () -> {
+            Thread.sleep(2_000);
+            return item;
+        });
+        var elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        // then
+        assertAll(
+                () -> assertEquals(item, actual),
+                () -> assertTrue(StaleReads.consume()),
+                () -> assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0)
+        );
+    }
+
+    @Test
+    @DisplayName("should serve the stale value when the database is unavailable")
+    public void shouldServeStaleValueWhenDatabaseIsDown() {
+        // given
+        var staleCache = staleCache();
+        staleCache.put(1L, item);
+        remote.clear();
+        StaleReads.consume();
+
+        // when
+        var actual = staleCache.get(1L, () -> {
+            throw new DataAccessResourceFailureException("connection refused");
+        });
+
+        // then
+        assertEquals(item, actual);
+        assertTrue(StaleReads.consume());
+    }
+
+    @Test
+    @DisplayName("should propagate load failures that are not database outages")
+    public void shouldPropagateOrdinaryLoadFailures() {
+        // given
+        var staleCache = staleCache();
+        staleCache.put(1L, item);
+        remote.clear();
+
+        // when
+        // then
+        assertThrows(Cache.ValueRetrievalException.class, () -> staleCache.get(1L, () -> {
+            throw new IllegalStateException("item removed");
+        }));
+        assertFalse(StaleReads.consume());
+    }
+
+    @Test
+    @DisplayName("should count near hits, remote hits and misses and time the loads of missing entries")
+    public void shouldRecordStatistics() {
+        // given
+        var registry = new SimpleMeterRegistry();
+        var meteredCache = builder()
+                .local(Caffeine.newBuilder().maximumSize(100).build())
+                .statistics(new CacheStatistics(CACHE_NAME, registry))
+                .build();
+        remote.put(2L, item);
+
+        // when
+        meteredCache.get(1L, () -> item);
+        meteredCache.get(1L, () -> item);
+        meteredCache.get(2L, Item.class);
+        meteredCache.evict(2L);
+
+        // then
+        var statistics = meteredCache.getStatistics();
+        var loads = registry.get("cache.loads").tags("cache", CACHE_NAME, "result", "success").timer();
+        assertAll(
+                () -> assertEquals(2, statistics.hitCount()),
+                () -> assertEquals(1, statistics.nearHitCount()),
+                () -> assertEquals(1, statistics.missCount()),
+                () -> assertEquals(1, statistics.putCount()),
+                () -> assertEquals(1, statistics.evictionCount()),
+                () -> assertEquals(1, loads.count())
+        );
+    }
+
+    private TwoTierCache staleCache() {
+        return builder()
+                .staleFallback(new StaleFallback(Duration.ofMinutes(1), 100, Duration.ofMillis(100), task -> Thread.ofVirtual().start(task)))
+                .build();
+    }
+
+    private Builder builder() {
+        return new Builder(remote, publisher);
+    }
+
+    // the tiers and features a test needs, everything else left out as the cache manager would without configuration
+    private static final class Builder {
+
+        Builder(Cache remote, CacheInvalidationPublisher publisher) {
+            this.remote = remote;
+            this.publisher = publisher;
+        }
+
+        private final Cache remote;
+        private final CacheInvalidationPublisher publisher;
+        private com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+        private RefreshAhead refreshAhead;
+        private StaleFallback staleFallback;
+        private CacheStatistics statistics;
+
+        Builder local(com.github.benmanes.caffeine.cache.Cache<String, Object> local) {
+            this.local = local;
+            return this;
+        }
+
+        Builder refreshAhead(RefreshAhead refreshAhead) {
+            this.refreshAhead = refreshAhead;
+            return this;
+        }
+
+        Builder staleFallback(StaleFallback staleFallback) {
+            this.staleFallback = staleFallback;
+            return this;
+        }
+
+        Builder statistics(CacheStatistics statistics) {
+            this.statistics = statistics;
+            return this;
+        }
+
+        TwoTierCache build() {
+            return new TwoTierCache(
+                    remote,
+                    local,
+                    publisher,
+                    CacheLoadCoordinator.direct(),
+                    refreshAhead,
+                    staleFallback,
+                    statistics != null ? statistics : new CacheStatistics(remote.getName(), null),
+                    ObservationRegistry.NOOP
+            );
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package net.zeotrope.item.cache;
+
+import net.zeotrope.item.configurer.ObjectMapperConfig;
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersionedItemRedisSerializerTest {
+
+    private final Jackson2JsonRedisSerializer<Item> jsonSerializer =
+            new Jackson2JsonRedisSerializer<>(new ObjectMapperConfig().redisObjectMapper(), Item.class);
+    private final ItemBinaryRedisSerializer binarySerializer = new ItemBinaryRedisSerializer();
+
+    private final Item item = new Item(
+            1234567890L,
+            ItemStatus.DISCONTINUED,
+            "Title One ✓",
+            "Summary One",
+            LocalDateTime.of(2025, 1, 1, 0, 0, 0),
+            LocalDateTime.of(2025, 6, 30, 12, 30, 15, 123456789),
+            LocalDateTime.of(2025, 6, 30, 12, 30, 15, 123456789)
+    );
+
+    @ParameterizedTest(name = "should round trip an item written as {0}")
+    @EnumSource(CacheValueFormat.class)
+    public void shouldRoundTripItem(CacheValueFormat format) {
+        // given
+        var serializer = new VersionedItemRedisSerializer(format, jsonSerializer, binarySerializer);
+
+        // when
+        var actual = serializer.deserialize(serializer.serialize(item));
+
+        // then
+        assertEquals(item, actual);
+    }
+
+    @ParameterizedTest(name = "should read entries written in either format when writing {0}")
+    @EnumSource(CacheValueFormat.class)
+    public void shouldReadBothFormats(CacheValueFormat format) {
+        // given
+        var serializer = new VersionedItemRedisSerializer(format, jsonSerializer, binarySerializer);
+
+        // when
+        // then
+        assertAll(
+                () -> assertEquals(item, serializer.deserialize(jsonSerializer.serialize(item))),
+                () -> assertEquals(item, serializer.deserialize(binarySerializer.serialize(item)))
+        );
+    }
+
+    @Test
+    @DisplayName("should round trip an item with only some fields set")
+    public void shouldRoundTripPartialItem() {
+        // given
+        var partial = new Item(-1L, ItemStatus.CURRENT, null, "", null, null, null);
+
+        // when
+        var actual = binarySerializer.deserialize(binarySerializer.serialize(partial));
+
+        // then
+        assertEquals(partial, actual);
+    }
+
+    @Test
+    @DisplayName("should encode an item in a fraction of the json size")
+    public void shouldEncodeSmallerThanJson() {
+        // given
+        // when
+        var json = jsonSerializer.serialize(item);
+        var binary = binarySerializer.serialize(item);
+
+        // then
+        assertTrue(binary.length * 2 < json.length,
+                String.format("binary %d bytes, json %d bytes", binary.length, json.length));
+    }
+
+    @Test
+    @DisplayName("should reject an unknown binary version")
+    public void shouldRejectUnknownVersion() {
+        // given
+        var bytes = binarySerializer.serialize(item);
+        bytes[1] = 99;
+
+        // when
+        // then
+        assertThrows(SerializationException.class, () -> binarySerializer.deserialize(bytes));
+    }
+}
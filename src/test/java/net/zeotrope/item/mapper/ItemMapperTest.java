@@ -130,4 +130,23 @@ public class ItemMapperTest {
                 }
         );
     }
+
+    @Test
+    @DisplayName("should stamp the given database time when discontinuing an item")
+    public void shouldStampGivenTimeWhenDiscontinuing() {
+        // given
+        var createdDate = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+        var databaseTime = LocalDateTime.of(2025, 6, 1, 12, 0, 0);
+        var item = new Item(1234567890L, ItemStatus.CURRENT, "Title One", "Summary One", createdDate, createdDate, null);
+
+        // when
+        var actual = ItemMapper.toUpdateItemStatus(item, ItemStatus.DISCONTINUED, databaseTime);
+
+        // then
+        assertAll(
+                () -> assertEquals(databaseTime, actual.getLastModifiedAt()),
+                () -> assertEquals(databaseTime, actual.getDiscontinuedAt()),
+                () -> assertEquals(createdDate, actual.getCreatedAt())
+        );
+    }
 }
@@ -0,0 +1,53 @@
+package net.zeotrope.item.model;
+
+import net.zeotrope.item.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ItemChangeCursorTest {
+
+    @Test
+    @DisplayName("should round trip a change cursor at microsecond precision")
+    public void shouldRoundTripCursor() {
+        // given
+        var cursor = ItemChangeCursor.at(LocalDateTime.of(2025, 4, 1, 8, 15, 30, 123_456_000), 42L);
+
+        // when
+        // then
+        assertEquals(cursor, ItemChangeCursor.parse(cursor.encode()));
+        assertEquals(LocalDateTime.of(2025, 4, 1, 8, 15, 30, 123_456_000), cursor.modifiedAt());
+    }
+
+    @Test
+    @DisplayName("should start from the beginning without a cursor and from a timestamp when given one")
+    public void shouldParseStartAndTimestamp() {
+        // given
+        var since = OffsetDateTime.parse("2025-04-01T08:15:30Z");
+
+        // when
+        // then
+        assertEquals(ItemChangeCursor.START, ItemChangeCursor.parse(null));
+        assertEquals(
+                ItemChangeCursor.at(since.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime(), 0L),
+                ItemChangeCursor.parse("2025-04-01T08:15:30Z")
+        );
+    }
+
+    @ValueSource(strings = {"not-a-cursor", "djE6KjoxMA", "YzE6YWJjOjE"})
+    @ParameterizedTest(name = "should reject malformed change cursor {0}")
+    public void shouldRejectMalformedCursor(String cursor) {
+        // given
+        // when
+        // then
+        assertThrows(InvalidRequestException.class, () -> ItemChangeCursor.parse(cursor));
+    }
+}
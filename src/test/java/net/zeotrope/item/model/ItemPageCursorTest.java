@@ -0,0 +1,36 @@
+package net.zeotrope.item.model;
+
+import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ItemPageCursorTest {
+
+    @Test
+    @DisplayName("should round trip a page cursor with and without a status")
+    public void shouldRoundTripCursor() {
+        // given
+        var withStatus = new ItemPageCursor(ItemStatus.DISCONTINUED, 42L);
+        var withoutStatus = new ItemPageCursor(null, 7L);
+
+        // when
+        // then
+        assertEquals(withStatus, ItemPageCursor.decode(withStatus.encode()));
+        assertEquals(withoutStatus, ItemPageCursor.decode(withoutStatus.encode()));
+    }
+
+    @ValueSource(strings = {"not-a-cursor", "djI6KjoxMA", "djE6VU5LTk9XTjox", "djE6KjphYmM"})
+    @ParameterizedTest(name = "should reject malformed cursor {0}")
+    public void shouldRejectMalformedCursor(String cursor) {
+        // given
+        // when
+        // then
+        assertThrows(InvalidRequestException.class, () -> ItemPageCursor.decode(cursor));
+    }
+}
@@ -0,0 +1,39 @@
+package net.zeotrope.item.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class ItemVersionTest {
+
+    @Test
+    @DisplayName("should round trip a version through its epoch microseconds")
+    public void shouldRoundTripEpochMicros() {
+        // given
+        var version = new ItemVersion(7L, LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_456_000));
+
+        // when
+        var actual = ItemVersion.ofEpochMicros(7L, version.epochMicros());
+
+        // then
+        assertEquals(version, actual);
+        assertEquals(version.eTag(), actual.eTag());
+    }
+
+    @Test
+    @DisplayName("should change the entity tag with the modification time and the id")
+    public void shouldChangeEntityTag() {
+        // given
+        var modifiedAt = LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_456_000);
+        var version = new ItemVersion(7L, modifiedAt);
+
+        // when
+        // then
+        assertNotEquals(version.eTag(), new ItemVersion(7L, modifiedAt.plusNanos(1_000)).eTag());
+        assertNotEquals(version.eTag(), new ItemVersion(8L, modifiedAt).eTag());
+    }
+}
@@ -1,5 +1,7 @@
 package net.zeotrope.item.repository;
 
+import net.zeotrope.item.cache.BatchCacheOperations;
+import net.zeotrope.item.cache.VersionedListCache;
 import net.zeotrope.item.configurer.RedisCacheConfig;
 import net.zeotrope.item.domain.Item;
 import net.zeotrope.item.domain.ItemStatus;
@@ -19,6 +21,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.testcontainers.utility.TestcontainersConfiguration;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +41,12 @@ public class ItemCacheRepositoryTest extends TestServiceContainers {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private BatchCacheOperations batchCacheOperations;
+
+    @Autowired
+    private VersionedListCache itemListCache;
+
     public static final Logger LOGGER = LoggerFactory.getLogger(ItemCacheRepositoryTest.class);
 
     @BeforeEach
@@ -114,5 +124,77 @@ public class ItemCacheRepositoryTest extends TestServiceContainers {
         assertEquals(expectedResult, actual == null);
     }
 
+    @Test
+    @DisplayName("should read entries written through the cache in one batch")
+    public void shouldBatchReadEntriesWrittenThroughCache() {
+        // given
+        var dateTime = LocalDateTime.of(2025, 4, 1, 0, 0, 0);
+        var first = new Item(200L, ItemStatus.CURRENT, "test", "test", dateTime, dateTime, null);
+        var second = new Item(201L, ItemStatus.CURRENT, "test", "test", dateTime, dateTime, null);
+        var cache = cacheManager.getCache(CACHE_NAME);
+        assertNotNull(cache);
+        cache.put(first.getId(), first);
+        cache.put(second.getId(), second);
+
+        // when
+        var actual = batchCacheOperations.getAll(CACHE_NAME, List.of(200L, 201L, 202L), Item.class);
 
+        // then
+        assertEquals(Map.of(200L, first, 201L, second), actual);
+    }
+
+    @Test
+    @DisplayName("should write entries in one batch that are readable through the cache")
+    public void shouldBatchWriteEntriesReadableThroughCache() {
+        // given
+        var dateTime = LocalDateTime.of(2025, 5, 1, 0, 0, 0);
+        var item = new Item(300L, ItemStatus.DISCONTINUED, "test", "test", dateTime, dateTime, dateTime);
+
+        // when
+        batchCacheOperations.putAll(CACHE_NAME, Map.of(item.getId(), item));
+        var actual = cacheManager.getCache(CACHE_NAME).get(item.getId(), Item.class);
+
+        // then
+        assertEquals(item, actual);
+    }
+
+    @Test
+    @DisplayName("should serve a cached list until the list version is bumped")
+    public void shouldInvalidateCachedListsOnVersionBump() {
+        // given
+        var listKey = "CURRENT:0:10";
+        var list = new VersionedListCache.CachedList(List.of(3L, 1L, 2L), "next");
+        var version = itemListCache.lookup(listKey).version();
+        itemListCache.put(version, listKey, list);
+
+        // when
+        var hit = itemListCache.lookup(listKey);
+        itemListCache.invalidate();
+        var miss = itemListCache.lookup(listKey);
+
+        // then
+        assertAll(
+                () -> assertTrue(hit.isHit()),
+                () -> assertEquals(list, hit.list()),
+                () -> assertFalse(miss.isHit()),
+                () -> assertEquals(version + 1, miss.version())
+        );
+    }
+
+    @Test
+    @DisplayName("should evict entries in one batch from the cache")
+    public void shouldBatchEvictEntriesFromCache() {
+        // given
+        var dateTime = LocalDateTime.of(2025, 6, 1, 0, 0, 0);
+        var first = new Item(400L, ItemStatus.CURRENT, "test", "test", dateTime, dateTime, null);
+        var second = new Item(401L, ItemStatus.CURRENT, "test", "test", dateTime, dateTime, null);
+        batchCacheOperations.putAll(CACHE_NAME, Map.of(first.getId(), first, second.getId(), second));
+
+        // when
+        batchCacheOperations.evictAll(CACHE_NAME, List.of(first.getId()));
+        var actual = batchCacheOperations.getAll(CACHE_NAME, List.of(400L, 401L), Item.class);
+
+        // then
+        assertEquals(Map.of(401L, second), actual);
+    }
 }
@@ -0,0 +1,126 @@
+package net.zeotrope.item.service;
+
+import jakarta.persistence.EntityManager;
+import net.zeotrope.item.cache.BatchCacheOperations;
+import net.zeotrope.item.cache.VersionedListCache;
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.exceptions.InvalidRequestException;
+import net.zeotrope.item.model.ItemDto;
+import net.zeotrope.item.repository.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(
+        classes = { ItemBulkService.class },
+        properties = {
+                "item.bulk.max-items=250",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=100"
+        }
+)
+public class ItemBulkServiceTest {
+
+    @Autowired
+    private ItemBulkService itemBulkService;
+
+    @MockitoBean
+    private ItemRepository itemRepository;
+
+    @MockitoBean
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private BatchCacheOperations batchCacheOperations;
+
+    @MockitoBean
+    private VersionedListCache itemListCache;
+
+    @MockitoBean
+    private ItemExistenceService itemExistenceService;
+
+    @Test
+    @DisplayName("should persist new items flushing and clearing once per jdbc batch")
+    public void shouldPersistItemsInBatches() {
+        // given
+        var itemDtos = IntStream.range(0, 250)
+                .mapToObj(i -> new ItemDto("Title " + i, ItemStatus.CURRENT, "Summary " + i))
+                .toList();
+
+        var databaseTime = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+
+        // when
+        Mockito.when(itemRepository.findDatabaseTime()).thenReturn(databaseTime);
+        var actual = itemBulkService.createItems(itemDtos);
+
+        // then
+        assertEquals(250, actual.size());
+        assertEquals("Title 249", actual.getLast().getName());
+        assertEquals(databaseTime, actual.getLast().getLastModifiedAt());
+        Mockito.verify(entityManager, Mockito.times(250)).persist(Mockito.any(Item.class));
+        Mockito.verify(entityManager, Mockito.times(3)).flush();
+        Mockito.verify(entityManager, Mockito.times(3)).clear();
+        Mockito.verify(batchCacheOperations, Mockito.times(1)).putAllAfterCommit(Mockito.eq("items"), Mockito.any(Map.class));
+        Mockito.verify(itemListCache, Mockito.times(1)).invalidateAfterCommit();
+        Mockito.verify(itemExistenceService, Mockito.times(250)).recordCreated(Mockito.anyLong());
+    }
+
+    @Test
+    @DisplayName("should reject a bulk create larger than the configured maximum")
+    public void shouldRejectOversizedBulkCreate() {
+        // given
+        var itemDtos = Collections.nCopies(251, new ItemDto("Title", ItemStatus.CURRENT, "Summary"));
+
+        // when
+        // then
+        assertThrows(InvalidRequestException.class, () -> itemBulkService.createItems(itemDtos));
+        Mockito.verifyNoInteractions(entityManager, batchCacheOperations);
+    }
+
+    @Test
+    @DisplayName("should update the status of a set of items in one statement and refresh the cache")
+    public void shouldUpdateStatusOfItemSet() {
+        // given
+        var dateTime = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+        var updated = List.of(
+                new Item(1L, ItemStatus.DISCONTINUED, "Title One", "Summary One", dateTime, dateTime, dateTime),
+                new Item(2L, ItemStatus.DISCONTINUED, "Title Two", "Summary Two", dateTime, dateTime, dateTime)
+        );
+
+        // when
+        Mockito.when(itemRepository.updateStatusByIdAny(new Long[]{1L, 2L, 3L}, "DISCONTINUED")).thenReturn(updated);
+
+        var actual = itemBulkService.updateItemStatus(List.of(1L, 2L, 3L, 2L), ItemStatus.DISCONTINUED);
+
+        // then
+        assertEquals(updated, actual);
+        Mockito.verify(itemRepository, Mockito.times(1)).updateStatusByIdAny(new Long[]{1L, 2L, 3L}, "DISCONTINUED");
+        Mockito.verify(batchCacheOperations, Mockito.times(1)).putAllAfterCommit(
+                "items",
+                Map.of(1L, updated.get(0), 2L, updated.get(1))
+        );
+    }
+
+    @Test
+    @DisplayName("should reject a bulk status update without a status")
+    public void shouldRejectBulkStatusUpdateWithoutStatus() {
+        // given
+        // when
+        // then
+        assertThrows(InvalidRequestException.class, () -> itemBulkService.updateItemStatus(List.of(1L), null));
+        Mockito.verifyNoInteractions(itemRepository, batchCacheOperations);
+    }
+}
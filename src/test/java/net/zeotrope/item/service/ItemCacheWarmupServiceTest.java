@@ -0,0 +1,80 @@
+package net.zeotrope.item.service;
+
+import net.zeotrope.item.cache.BatchCacheOperations;
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.repository.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(
+        classes = { ItemCacheWarmupService.class },
+        properties = {
+                "cache.warmup.enabled=false",
+                "cache.warmup.max-items=5",
+                "cache.warmup.batch-size=2"
+        }
+)
+public class ItemCacheWarmupServiceTest {
+
+    @Autowired
+    private ItemCacheWarmupService warmupService;
+
+    @MockitoBean
+    private ItemRepository itemRepository;
+
+    @MockitoBean
+    private BatchCacheOperations batchCacheOperations;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("should preload the most recent items into the cache in pipelined batches")
+    public void shouldPreloadItemsInBatches() {
+        // given
+        var dateTime = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+        var items = LongStream.rangeClosed(1, 5)
+                .mapToObj(id -> new Item(id, ItemStatus.CURRENT, "Title", "Summary", dateTime, dateTime, null));
+
+        // when
+        Mockito.when(itemRepository.streamRecent(Mockito.argThat((Limit limit) -> limit.max() == 5))).thenReturn(items);
+
+        warmupService.warmUp();
+
+        // then
+        assertEquals(ItemCacheWarmupService.State.COMPLETED, warmupService.getState());
+        assertTrue(warmupService.isFinished());
+        assertEquals(5, warmupService.getWarmedItems());
+        Mockito.verify(batchCacheOperations, Mockito.times(3)).putAllIfAbsent(Mockito.eq("items"), Mockito.any(Map.class));
+    }
+
+    @Test
+    @DisplayName("should report the warm-up as finished when loading fails")
+    public void shouldFinishWhenWarmupFails() {
+        // given
+        // when
+        Mockito.when(itemRepository.streamRecent(Mockito.any())).thenThrow(new IllegalStateException("database unavailable"));
+
+        warmupService.warmUp();
+
+        // then
+        assertEquals(ItemCacheWarmupService.State.FAILED, warmupService.getState());
+        assertTrue(warmupService.isFinished());
+        Mockito.verifyNoInteractions(batchCacheOperations);
+    }
+}
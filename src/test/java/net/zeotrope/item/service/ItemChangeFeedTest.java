@@ -0,0 +1,99 @@
+package net.zeotrope.item.service;
+
+import net.zeotrope.item.cache.CircuitBreaker;
+import net.zeotrope.item.configurer.ObjectMapperConfig;
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.model.ItemChangeBatch;
+import net.zeotrope.item.model.ItemChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemChangeFeedTest {
+
+    private static final String CHANNEL = "items:changes";
+
+    private StringRedisTemplate redisTemplate;
+    private ItemChangeFeed itemChangeFeed;
+
+    private final LocalDateTime dateTime = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+
+    @BeforeEach
+    public void setUp() {
+        redisTemplate = Mockito.mock(StringRedisTemplate.class);
+        itemChangeFeed = new ItemChangeFeed(
+                redisTemplate,
+                Mockito.mock(RedisMessageListenerContainer.class),
+                CircuitBreaker.disabled("redis"),
+                new ObjectMapperConfig().redisObjectMapper(),
+                CHANNEL
+        );
+    }
+
+    @Test
+    @DisplayName("should publish committed changes on the change channel in bounded messages")
+    public void shouldPublishChangesInChunks() {
+        // given
+        var changes = IntStream.rangeClosed(1, 501)
+                .mapToObj(id -> ItemChangeEvent.of(
+                        ItemChangeEvent.Type.STATUS_CHANGED,
+                        new Item((long) id, ItemStatus.DISCONTINUED, "test", "test", dateTime, dateTime, dateTime)))
+                .toList();
+
+        // when
+        itemChangeFeed.onItemsChanged(new ItemChangeBatch(changes));
+
+        // then
+        var messages = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(redisTemplate, Mockito.times(2)).convertAndSend(Mockito.eq(CHANNEL), messages.capture());
+        assertAll(
+                () -> assertTrue(messages.getAllValues().get(0).contains("\"STATUS_CHANGED\"")),
+                () -> assertTrue(messages.getAllValues().get(1).contains("\"id\":501"))
+        );
+    }
+
+    @Test
+    @DisplayName("should drop events past a subscriber's buffer and count them")
+    public void shouldDropEventsPastSubscriberBuffer() {
+        // given
+        var subscriber = new ItemChangeFeed.Subscriber(new SseEmitter(), 2);
+
+        // when
+        var accepted = List.of(subscriber.offer("a"), subscriber.offer("b"), subscriber.offer("c"), subscriber.offer("d"));
+
+        // then
+        assertAll(
+                () -> assertEquals(List.of(true, true, false, false), accepted),
+                () -> assertEquals(2, subscriber.droppedCount())
+        );
+    }
+
+    @Test
+    @DisplayName("should stop buffering events for a closed subscriber")
+    public void shouldIgnoreEventsForClosedSubscriber() {
+        // given
+        var subscriber = new ItemChangeFeed.Subscriber(new SseEmitter(), 2);
+        subscriber.close();
+
+        // when
+        var accepted = subscriber.offer("a");
+
+        // then
+        assertAll(
+                () -> assertFalse(accepted),
+                () -> assertEquals(0, subscriber.droppedCount())
+        );
+    }
+}
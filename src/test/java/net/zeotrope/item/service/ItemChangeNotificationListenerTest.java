@@ -0,0 +1,86 @@
+package net.zeotrope.item.service;
+
+import net.zeotrope.item.cache.BatchCacheOperations;
+import net.zeotrope.item.cache.TwoTierCacheManager;
+import net.zeotrope.item.cache.VersionedListCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(
+        classes = { ItemChangeNotificationListener.class },
+        properties = {
+                "spring.application.name=item-service",
+                "cache.db-notify.enabled=false"
+        }
+)
+public class ItemChangeNotificationListenerTest {
+
+    @Autowired
+    private ItemChangeNotificationListener listener;
+
+    @MockitoBean
+    private DataSourceProperties dataSourceProperties;
+
+    @MockitoBean
+    private BatchCacheOperations batchCacheOperations;
+
+    @MockitoBean
+    private TwoTierCacheManager cacheManager;
+
+    @MockitoBean
+    private VersionedListCache itemListCache;
+
+    @MockitoBean
+    private ItemExistenceService itemExistenceService;
+
+    @Test
+    @DisplayName("should evict only the items other clients changed and record every changed id in the id filter")
+    public void shouldSkipOwnChanges() {
+        // given
+        var ids = new LinkedHashSet<Long>();
+
+        // when
+        listener.collect(new PGNotification[] {
+                notification("item-service|1,2"),
+                notification("psql|3,4")
+        }, ids);
+
+        // then
+        assertEquals(Set.of(3L, 4L), ids);
+        for (var id : new long[] {1L, 2L, 3L, 4L}) {
+            Mockito.verify(itemExistenceService).recordCreated(id);
+        }
+    }
+
+    @Test
+    @DisplayName("should evict the items of a notification without an origin")
+    public void shouldEvictChangesWithoutOrigin() {
+        // given
+        var ids = new LinkedHashSet<Long>();
+
+        // when
+        listener.collect(new PGNotification[] { notification("|5") }, ids);
+
+        // then
+        assertEquals(Set.of(5L), ids);
+    }
+
+    private static PGNotification notification(String payload) {
+        var notification = Mockito.mock(PGNotification.class);
+        Mockito.when(notification.getParameter()).thenReturn(payload);
+        return notification;
+    }
+}
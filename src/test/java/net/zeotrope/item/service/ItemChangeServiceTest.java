@@ -0,0 +1,112 @@
+package net.zeotrope.item.service;
+
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.domain.ItemTombstone;
+import net.zeotrope.item.exceptions.ChangeCursorExpiredException;
+import net.zeotrope.item.model.ItemChangeCursor;
+import net.zeotrope.item.repository.ItemRepository;
+import net.zeotrope.item.repository.ItemTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(
+        classes = { ItemChangeService.class },
+        properties = {
+                "item.changes.settle-window=5s",
+                "item.changes.tombstone-retention=30d"
+        }
+)
+public class ItemChangeServiceTest {
+
+    @Autowired
+    private ItemChangeService itemChangeService;
+
+    @MockitoBean
+    private ItemRepository itemRepository;
+
+    @MockitoBean
+    private ItemTombstoneRepository itemTombstoneRepository;
+
+    private final LocalDateTime changedDate = LocalDateTime.now().minusHours(1);
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(itemRepository.findDatabaseTime()).thenAnswer(invocation -> LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("should merge modified items and deletions in change order up to the page size")
+    public void shouldMergeChangesInOrder() {
+        // given
+        var first = item(1L, changedDate);
+        var third = item(3L, changedDate.plusSeconds(2));
+        var fourth = item(4L, changedDate.plusSeconds(3));
+        Mockito.when(itemRepository.findModifiedBetween(Mockito.any(), Mockito.anyLong(), Mockito.any(), Mockito.eq(4)))
+                .thenReturn(List.of(first, third, fourth));
+        Mockito.when(itemTombstoneRepository.findDeletedBetween(Mockito.any(), Mockito.anyLong(), Mockito.any(), Mockito.eq(4)))
+                .thenReturn(List.of(new ItemTombstone(2L, changedDate.plusSeconds(1))));
+
+        // when
+        var actual = itemChangeService.getChanges(null, 3);
+
+        // then
+        assertAll(
+                () -> assertEquals(List.of(first, third), actual.items()),
+                () -> assertEquals(List.of(2L), actual.deletedIds()),
+                () -> assertTrue(actual.hasMore()),
+                () -> assertEquals(ItemChangeCursor.at(third.getLastModifiedAt(), 3L), ItemChangeCursor.parse(actual.cursor()))
+        );
+    }
+
+    @Test
+    @DisplayName("should move the cursor up to the settle horizon once caught up")
+    public void shouldAdvanceCursorWhenCaughtUp() {
+        // given
+        var since = ItemChangeCursor.at(changedDate, 1L);
+        Mockito.when(itemRepository.findModifiedBetween(Mockito.any(), Mockito.anyLong(), Mockito.any(), Mockito.anyInt()))
+                .thenReturn(List.of());
+        Mockito.when(itemTombstoneRepository.findDeletedBetween(Mockito.any(), Mockito.anyLong(), Mockito.any(), Mockito.anyInt()))
+                .thenReturn(List.of());
+
+        // when
+        var actual = itemChangeService.getChanges(since.encode(), null);
+
+        // then
+        var next = ItemChangeCursor.parse(actual.cursor());
+        assertAll(
+                () -> assertTrue(actual.items().isEmpty()),
+                () -> assertFalse(actual.hasMore()),
+                () -> assertTrue(next.compareTo(since) > 0),
+                () -> assertTrue(next.modifiedAt().isBefore(LocalDateTime.now().minusSeconds(4)))
+        );
+    }
+
+    @Test
+    @DisplayName("should reject a cursor older than the tombstone retention")
+    public void shouldRejectExpiredCursor() {
+        // given
+        var since = ItemChangeCursor.at(LocalDateTime.now().minusDays(31), 1L);
+
+        // when
+        // then
+        assertThrows(ChangeCursorExpiredException.class, () -> itemChangeService.getChanges(since.encode(), null));
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
+    private static Item item(Long id, LocalDateTime modifiedAt) {
+        return new Item(id, ItemStatus.CURRENT, "Title", "Summary", modifiedAt, modifiedAt, null);
+    }
+}
@@ -0,0 +1,62 @@
+package net.zeotrope.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.zeotrope.item.configurer.ObjectMapperConfig;
+import net.zeotrope.item.domain.Item;
+import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.exceptions.ItemNotFoundException;
+import net.zeotrope.item.model.ItemVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(classes = {ItemJsonService.class, ObjectMapperConfig.class})
+public class ItemJsonServiceTest {
+
+    @Autowired
+    private ItemJsonService itemJsonService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ItemService itemService;
+
+    @Test
+    @DisplayName("should render an item as its json response body")
+    public void shouldRenderItemAsJson() throws Exception {
+        // given
+        var dateTime = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+        var item = new Item(1L, ItemStatus.CURRENT, "Title", "Summary", dateTime, dateTime, null);
+
+        // when
+        Mockito.when(itemService.get(1L)).thenReturn(item);
+
+        var actual = itemJsonService.getItemJson(1L);
+
+        // then
+        assertArrayEquals(objectMapper.writeValueAsBytes(item), actual.body());
+        assertEquals(item, objectMapper.readValue(actual.body(), Item.class));
+        assertEquals(ItemVersion.of(item), actual.version());
+    }
+
+    @Test
+    @DisplayName("should propagate item not found when rendering an unknown item")
+    public void shouldPropagateItemNotFound() {
+        // given
+        // when
+        Mockito.when(itemService.get(1L)).thenThrow(new ItemNotFoundException("Item with id 1 not found"));
+
+        // then
+        assertThrows(ItemNotFoundException.class, () -> itemJsonService.getItemJson(1L));
+    }
+}
@@ -1,20 +1,27 @@
 package net.zeotrope.item.service;
 
+import net.zeotrope.item.cache.BatchCacheOperations;
+import net.zeotrope.item.cache.VersionedListCache;
 import net.zeotrope.item.domain.Item;
 import net.zeotrope.item.domain.ItemStatus;
+import net.zeotrope.item.exceptions.InvalidRequestException;
 import net.zeotrope.item.exceptions.ItemNotFoundException;
 import net.zeotrope.item.model.ItemDto;
+import net.zeotrope.item.model.ItemPageCursor;
 import net.zeotrope.item.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,6 +36,15 @@ public class ItemServiceTest {
     @MockitoBean
     private ItemRepository itemRepository;
 
+    @MockitoBean
+    private BatchCacheOperations batchCacheOperations;
+
+    @MockitoBean
+    private VersionedListCache itemListCache;
+
+    @MockitoBean
+    private ItemExistenceService itemExistenceService;
+
     private LocalDateTime createdDate = LocalDateTime.of(2025, 1, 1, 0, 0, 0, 0);
     private LocalDateTime modifiedDate = LocalDateTime.of(2025, 1, 1, 0, 0, 0, 0);
 
@@ -68,6 +84,12 @@ public class ItemServiceTest {
             "Summary Ten"
     );
 
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(itemListCache.lookup(Mockito.anyString())).thenReturn(new VersionedListCache.Lookup(0L, null));
+        Mockito.when(itemExistenceService.mightExist(Mockito.any())).thenReturn(true);
+    }
+
     @Test
     @DisplayName("should return an item from the repository")
     public void shouldReturnItemFromRepository() {
@@ -104,6 +126,75 @@ public class ItemServiceTest {
                 () -> itemService.get(1L)
         );
         assertEquals("Item with id 1 not found", actual.getMessage());
+        Mockito.verify(itemExistenceService, Mockito.times(1)).recordMissing(1L);
+    }
+
+    @Test
+    @DisplayName("should reject an id recently found missing without querying the repository")
+    public void shouldRejectKnownMissingIdWithoutRepository() {
+        // given
+        // when
+        Mockito.when(itemExistenceService.isKnownMissing(99L)).thenReturn(true);
+
+        // then
+        assertThrows(ItemNotFoundException.class, () -> itemService.get(99L));
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    @DisplayName("should return cached items and load only the misses in one query")
+    @SuppressWarnings("unchecked")
+    public void shouldReturnItemsFromCacheAndRepository() {
+        // given
+        var ids = List.of(3L, 1L, 2L, 99L);
+
+        // when
+        Mockito.when(batchCacheOperations.getAll(Mockito.eq("items"), Mockito.anyCollection(), Mockito.eq(Item.class)))
+                .thenReturn(Map.of(1L, items.get(0)));
+        Mockito.when(itemRepository.findAllByIdAny(Mockito.any())).thenReturn(List.of(items.get(1), items.get(2)));
+
+        var actual = itemService.getItems(ids);
+
+        // then
+        assertEquals(List.of(items.get(2), items.get(0), items.get(1)), actual);
+        Mockito.verify(itemRepository, Mockito.times(1)).findAllByIdAny(new Long[]{3L, 2L, 99L});
+        Mockito.verify(batchCacheOperations, Mockito.times(1)).putAllIfAbsent(
+                "items",
+                Map.of(2L, items.get(1), 3L, items.get(2))
+        );
+        Mockito.verify(batchCacheOperations, Mockito.never()).putAll(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("should return a cached item the id filter rules out without querying the missing ids")
+    public void shouldReturnCachedItemRuledOutByFilter() {
+        // given
+        // when
+        Mockito.when(itemExistenceService.mightExist(2L)).thenReturn(false);
+        Mockito.when(itemExistenceService.mightExist(99L)).thenReturn(false);
+        Mockito.when(batchCacheOperations.getAll(Mockito.eq("items"), Mockito.anyCollection(), Mockito.eq(Item.class)))
+                .thenReturn(Map.of(2L, items.get(1)));
+
+        var actual = itemService.getItems(List.of(2L, 99L));
+
+        // then
+        assertEquals(List.of(items.get(1)), actual);
+        Mockito.verify(itemRepository, Mockito.never()).findAllByIdAny(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("should not query the repository when every requested item is cached")
+    public void shouldNotQueryRepositoryWhenAllItemsCached() {
+        // given
+        // when
+        Mockito.when(batchCacheOperations.getAll(Mockito.eq("items"), Mockito.anyCollection(), Mockito.eq(Item.class)))
+                .thenReturn(Map.of(1L, items.get(0), 2L, items.get(1)));
+
+        var actual = itemService.getItems(List.of(1L, 2L, 1L));
+
+        // then
+        assertEquals(List.of(items.get(0), items.get(1)), actual);
+        Mockito.verify(itemRepository, Mockito.never()).findAllByIdAny(Mockito.any());
     }
 
     @Test
@@ -135,30 +226,81 @@ public class ItemServiceTest {
     }
 
     @Test
-    @DisplayName("should return a list of items")
-    public void shouldReturnListItems() {
+    @DisplayName("should return the last page of items without a continuation cursor")
+    public void shouldReturnLastItemPage() {
         // given
         // when
-        Mockito.when(itemRepository.findAll()).thenReturn(items);
+        Mockito.when(itemRepository.findByIdGreaterThanOrderByIdAsc(
+                Mockito.eq(0L),
+                Mockito.argThat((Limit limit) -> limit.max() == 4)
+        )).thenReturn(items);
+
+        var actual = itemService.getItemPage(null, null, 3);
+
         // then
-        var actual = itemService.getAllItems(null);
+        assertEquals(items, actual.items());
+        assertFalse(actual.hasNext());
+        Mockito.verify(batchCacheOperations, Mockito.times(1)).putAllIfAbsent(Mockito.eq("items"), Mockito.anyMap());
+        Mockito.verify(batchCacheOperations, Mockito.never()).putAll(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("should return a page of items filtered by status with a continuation cursor")
+    public void shouldReturnItemPageWithCursor() {
+        // given
+        var cursor = new ItemPageCursor(ItemStatus.CURRENT, 0L).encode();
+
+        // when
+        Mockito.when(itemRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                Mockito.eq(ItemStatus.CURRENT),
+                Mockito.eq(0L),
+                Mockito.argThat((Limit limit) -> limit.max() == 3)
+        )).thenReturn(items);
+
+        var actual = itemService.getItemPage(ItemStatus.CURRENT, cursor, 2);
 
-        assertEquals(items, actual);
-        Mockito.verify(itemRepository, Mockito.times(1)).findAll();
+        // then
+        assertEquals(items.subList(0, 2), actual.items());
+        assertEquals(new ItemPageCursor(ItemStatus.CURRENT, 2L), ItemPageCursor.decode(actual.nextCursor()));
+        Mockito.verify(itemListCache, Mockito.times(1)).put(
+                Mockito.eq(0L),
+                Mockito.eq("CURRENT:0:2"),
+                Mockito.eq(new VersionedListCache.CachedList(List.of(1L, 2L), actual.nextCursor()))
+        );
     }
 
     @Test
-    @DisplayName("should return a list of items filtered by status")
-    public void shouldReturnListItemsFilteredByStatus(){
+    @DisplayName("should serve a cached page of item ids from the item cache without querying the repository")
+    public void shouldReturnCachedItemPage() {
         // given
+        var cachedList = new VersionedListCache.CachedList(List.of(1L, 2L), "next");
+
         // when
-        Mockito.when(itemRepository.findAllByStatus(ItemStatus.CURRENT)).thenReturn(items);
+        Mockito.when(itemListCache.lookup("CURRENT:0:2")).thenReturn(new VersionedListCache.Lookup(3L, cachedList));
+        Mockito.when(batchCacheOperations.getAll(Mockito.eq("items"), Mockito.eq(List.of(1L, 2L)), Mockito.eq(Item.class)))
+                .thenReturn(Map.of(1L, items.get(0), 2L, items.get(1)));
 
-        var actual = itemService.getAllItems(ItemStatus.CURRENT);
+        var actual = itemService.getItemPage(ItemStatus.CURRENT, null, 2);
 
         // then
-        assertEquals(items, actual);
-        Mockito.verify(itemRepository, Mockito.times(1)).findAllByStatus(ItemStatus.CURRENT);
+        assertEquals(items.subList(0, 2), actual.items());
+        assertEquals("next", actual.nextCursor());
+        Mockito.verifyNoInteractions(itemRepository);
+        Mockito.verify(itemListCache, Mockito.never()).put(Mockito.anyLong(), Mockito.anyString(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("should reject a page cursor issued for a different status")
+    public void shouldRejectCursorForDifferentStatus() {
+        // given
+        var cursor = new ItemPageCursor(ItemStatus.DISCONTINUED, 10L).encode();
+
+        // when
+        // then
+        assertThrows(InvalidRequestException.class,
+                () -> itemService.getItemPage(ItemStatus.CURRENT, cursor, 10)
+        );
+        Mockito.verifyNoInteractions(itemRepository);
     }
 
     @Test
@@ -174,6 +316,7 @@ public class ItemServiceTest {
         // then
         Mockito.verify(itemRepository, Mockito.times(1)).existsById(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.times(1)).deleteById(Mockito.anyLong());
+        Mockito.verify(itemListCache, Mockito.times(1)).invalidateAfterCommit();
     }
 
     @Test
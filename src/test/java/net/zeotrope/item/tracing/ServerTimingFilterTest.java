@@ -0,0 +1,76 @@
+package net.zeotrope.item.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerTimingFilterTest {
+
+    private ServerHttpObservationFilter observationFilter;
+
+    @BeforeEach
+    public void setUp() {
+        var registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ServerTimingObservationHandler());
+        observationFilter = new ServerHttpObservationFilter(registry);
+    }
+
+    @Test
+    @DisplayName("should report the server timing of a response without a body")
+    public void shouldReportTimingOfBodilessResponse() throws Exception {
+        // given
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain(servlet((req, res) -> res.setStatus(HttpServletResponse.SC_NOT_MODIFIED)),
+                observationFilter, new ServerTimingFilter());
+
+        // when
+        chain.doFilter(new MockHttpServletRequest("GET", "/api/v1/items/1"), response);
+
+        // then
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertTrue(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER).startsWith("app;dur="));
+    }
+
+    @Test
+    @DisplayName("should report the server timing before a streamed response commits")
+    public void shouldReportTimingBeforeCommit() throws Exception {
+        // given
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain(servlet((req, res) -> {
+            res.getWriter().write("data: 1\n\n");
+            res.flushBuffer();
+        }), observationFilter, new ServerTimingFilter());
+
+        // when
+        chain.doFilter(new MockHttpServletRequest("GET", "/api/v1/items/changes"), response);
+
+        // then
+        assertTrue(response.isCommitted());
+        assertTrue(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER).startsWith("app;dur="));
+    }
+
+    private static HttpServlet servlet(Handler handler) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                handler.handle(req, resp);
+            }
+        };
+    }
+
+    private interface Handler {
+        void handle(HttpServletRequest request, HttpServletResponse response) throws IOException;
+    }
+}
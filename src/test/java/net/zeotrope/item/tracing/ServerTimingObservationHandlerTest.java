@@ -0,0 +1,72 @@
+package net.zeotrope.item.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerTimingObservationHandlerTest {
+
+    private ObservationRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ServerTimingObservationHandler());
+    }
+
+    @Test
+    @DisplayName("should attribute nested stages to the request they ran for")
+    public void shouldAttributeStagesToRequest() throws Exception {
+        // given
+        var requestContext = new ServerRequestObservationContext(new MockHttpServletRequest(), new MockHttpServletResponse());
+        var request = Observation.createNotStarted("http.server.requests", () -> requestContext, registry).start();
+
+        // when
+        try (var scope = request.openScope()) {
+            Observation.createNotStarted("item.service", registry).observeChecked(() -> {
+                Observation.createNotStarted("item.repository", registry).observeChecked(() -> Thread.sleep(2));
+            });
+        }
+        ServerTimings timings = requestContext.get(ServerTimings.class);
+        var header = timings.header(System.nanoTime());
+        request.stop();
+
+        // then
+        assertAll(
+                () -> assertTrue(timings.getNanos(ServerTimings.Stage.DB) >= 2_000_000L),
+                () -> assertTrue(timings.getNanos(ServerTimings.Stage.SERVICE) >= timings.getNanos(ServerTimings.Stage.DB)),
+                () -> assertEquals(0L, timings.getNanos(ServerTimings.Stage.CACHE)),
+                () -> assertTrue(header.startsWith("service;dur=")),
+                () -> assertTrue(header.contains("db;dur=")),
+                () -> assertTrue(header.contains("app;dur="))
+        );
+    }
+
+    @Test
+    @DisplayName("should ignore stages observed outside any request")
+    public void shouldIgnoreStagesOutsideRequest() {
+        // given
+        var requestContext = new ServerRequestObservationContext(new MockHttpServletRequest(), new MockHttpServletResponse());
+        var request = Observation.createNotStarted("http.server.requests", () -> requestContext, registry).start();
+
+        // when
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // no context is propagated to this thread, the stage has no parent
+            executor.submit(() -> Observation.createNotStarted("item.repository", registry).observe(() -> {}));
+        }
+        ServerTimings timings = requestContext.get(ServerTimings.class);
+        request.stop();
+
+        // then
+        assertEquals(0L, timings.getNanos(ServerTimings.Stage.DB));
+    }
+}
@@ -10,12 +10,12 @@ SET xmloption = content;
 SET client_min_messages = warning;
 SET row_security = off;
 
-INSERT INTO public.items (status, name, summary, created_at, last_modified_at, discontinued_at) OVERRIDING SYSTEM VALUE VALUES ('CURRENT', 'Item 1', 'Item 1 summary', '2025-01-01 00:00:00+00', '2025-01-01 00:00:00+00', null);
-INSERT INTO public.items (status, name, summary, created_at, last_modified_at, discontinued_at) OVERRIDING SYSTEM VALUE VALUES ('CURRENT', 'Item 2', 'Item 2 summary', '2025-01-01 00:00:00+00', '2025-01-01 00:00:00+00', null);
-INSERT INTO public.items (status, name, summary, created_at, last_modified_at, discontinued_at) OVERRIDING SYSTEM VALUE VALUES ('CURRENT', 'Item 3', 'Item 3 summary', '2025-01-01 06:00:00+00', '2025-01-01 06:00:00+00', null);
-INSERT INTO public.items (status, name, summary, created_at, last_modified_at, discontinued_at) OVERRIDING SYSTEM VALUE VALUES ('CURRENT', 'Item 4', 'Item 4 summary', '2025-01-01 09:00:00+00', '2025-01-01 09:00:00+00', null);
-INSERT INTO public.items (status, name, summary, created_at, last_modified_at, discontinued_at) OVERRIDING SYSTEM VALUE VALUES ('CURRENT', 'Item 5', 'Item 5 summary', '2025-01-02 12:00:00+00', '2025-01-02 12:00:00+00', null);
-INSERT INTO public.items (status, name, summary, created_at, last_modified_at, discontinued_at) OVERRIDING SYSTEM VALUE VALUES ('DISCONTINUED', 'Item 6', 'Item 6 summary', '2025-02-01 00:00:00+00', '2025-02-01 00:00:00+00', '2025-04-01 00:00:00+00');
+INSERT INTO public.items (id, status, name, summary, created_at, last_modified_at, discontinued_at) VALUES (1, 'CURRENT', 'Item 1', 'Item 1 summary', '2025-01-01 00:00:00+00', '2025-01-01 00:00:00+00', null);
+INSERT INTO public.items (id, status, name, summary, created_at, last_modified_at, discontinued_at) VALUES (2, 'CURRENT', 'Item 2', 'Item 2 summary', '2025-01-01 00:00:00+00', '2025-01-01 00:00:00+00', null);
+INSERT INTO public.items (id, status, name, summary, created_at, last_modified_at, discontinued_at) VALUES (3, 'CURRENT', 'Item 3', 'Item 3 summary', '2025-01-01 06:00:00+00', '2025-01-01 06:00:00+00', null);
+INSERT INTO public.items (id, status, name, summary, created_at, last_modified_at, discontinued_at) VALUES (4, 'CURRENT', 'Item 4', 'Item 4 summary', '2025-01-01 09:00:00+00', '2025-01-01 09:00:00+00', null);
+INSERT INTO public.items (id, status, name, summary, created_at, last_modified_at, discontinued_at) VALUES (5, 'CURRENT', 'Item 5', 'Item 5 summary', '2025-01-02 12:00:00+00', '2025-01-02 12:00:00+00', null);
+INSERT INTO public.items (id, status, name, summary, created_at, last_modified_at, discontinued_at) VALUES (6, 'DISCONTINUED', 'Item 6', 'Item 6 summary', '2025-02-01 00:00:00+00', '2025-02-01 00:00:00+00', '2025-04-01 00:00:00+00');
 
 
 SELECT pg_catalog.setval('public.items_id_seq', 6, true);
\ No newline at end of file